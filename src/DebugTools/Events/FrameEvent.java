@@ -0,0 +1,47 @@
+package DebugTools.Events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+//one per view per frame, lasting from the start of the frame to the start of the next
+@Name("GxEngine.Frame")
+@Label("Frame")
+@Category({"GxEngine", "Rendering"})
+@Description("A view's frame with the time spent in each stage and what happened to its polygons")
+@StackTrace(false)
+public class FrameEvent extends Event {
+
+    @Label("View")
+    public String view;
+
+    @Label("Tick") @Timespan
+    public long tick;
+    @Label("Shapes") @Timespan
+    public long shapes;
+    @Label("Split") @Timespan
+    public long split;
+    @Label("Project") @Timespan
+    public long project;
+    @Label("Lighting") @Timespan
+    public long lighting;
+    @Label("Order") @Timespan
+    public long order;
+    @Label("Draw") @Timespan
+    public long draw;
+    @Label("Present") @Timespan
+    public long present;
+
+    @Label("Shapes Culled")
+    public int culledShapes;
+    @Label("Polygons")
+    public int polygons;
+    @Label("Polygons Culled")
+    public int culledPolygons;
+    @Label("Polygons Drawn")
+    public int drawn;
+}
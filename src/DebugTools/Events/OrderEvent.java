@@ -0,0 +1,21 @@
+package DebugTools.Events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("GxEngine.Order")
+@Label("Order")
+@Category({"GxEngine", "Rendering"})
+@Description("A view's polygons being ordered before they are drawn")
+@StackTrace(false)
+public class OrderEvent extends Event {
+
+    @Label("Strategy")
+    public String strategy;
+    @Label("Polygons")
+    public int polygons;
+}
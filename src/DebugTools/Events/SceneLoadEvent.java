@@ -0,0 +1,21 @@
+package DebugTools.Events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("GxEngine.SceneLoad")
+@Label("Scene Load")
+@Category({"GxEngine", "Scene"})
+@Description("A scene script being read and run")
+public class SceneLoadEvent extends Event {
+
+    @Label("Source")
+    public String source;
+    @Label("Tokens")
+    public int tokens;
+    @Label("Shapes Added")
+    public int shapes;
+}
@@ -0,0 +1,27 @@
+package DebugTools.Events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("GxEngine.Split")
+@Label("Split")
+@Category({"GxEngine", "Scene"})
+@Description("The scene's polygons being split where they intersect")
+@StackTrace(false)
+public class SplitEvent extends Event {
+
+    @Label("Splitting")
+    @Description("False when splitting is off and the polygons are only copied")
+    public boolean splitting;
+    @Label("Input Polygons")
+    public int input;
+    @Label("Output Polygons")
+    public int output;
+    @Label("Resplit Polygons")
+    @Description("Polygons that could not be taken from earlier splits")
+    public int resplit;
+}
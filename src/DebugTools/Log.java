@@ -0,0 +1,88 @@
+package DebugTools;
+
+import java.util.HashMap;
+import java.util.function.Supplier;
+
+//a logger for one class, set up through TextOutput's mode and module like TextOutput.println
+//whether a category is printed is worked out once and cached, so a call that prints nothing does no work at all
+//use isEnabled or a Supplier when building the message costs something
+public class Log {
+
+    private static final HashMap<String, Log> loggers = new HashMap<>();
+
+    //which of the first 32 categories are printed, valid while version matches TextOutput's
+    //kept together so a reader never sees one without the other
+    private static final class State
+    {
+        final int allowed;
+        final int version;
+
+        State(int allowed, int version)
+        {
+            this.allowed = allowed;
+            this.version = version;
+        }
+    }
+
+    private final String className;
+    private volatile State state = new State(0, -1);
+
+    private Log(String className)
+    {
+        this.className = className;
+    }
+
+    public static Log get(Class<?> c)
+    {
+        synchronized (loggers) {
+            Log log = loggers.get(c.getName());
+            if (log == null) {
+                log = new Log(c.getName());
+                loggers.put(c.getName(), log);
+            }
+            return log;
+        }
+    }
+
+    public boolean isEnabled(int cat)
+    {
+        if (cat < 0 || cat >= 32) {
+            return TextOutput.allows(className, cat);
+        }
+        State s = state;
+        int current = TextOutput.getVersion();
+        if (s.version != current) {
+            //races only mean the same answer is worked out twice
+            int mask = 0;
+            for (int i = 0; i < 32; i++) {
+                if (TextOutput.allows(className, i)) {
+                    mask |= 1 << i;
+                }
+            }
+            s = new State(mask, current);
+            state = s;
+        }
+        return (s.allowed & (1 << cat)) != 0;
+    }
+
+    public void println(Object o)
+    {
+        //assume a default category
+        println(o, 0);
+    }
+
+    public void println(Object o, int cat)
+    {
+        if (isEnabled(cat)) {
+            TextOutput.write(className, o);
+        }
+    }
+
+    //the message is only made when it will be printed
+    public void println(Supplier<?> message, int cat)
+    {
+        if (isEnabled(cat)) {
+            TextOutput.write(className, message.get());
+        }
+    }
+}
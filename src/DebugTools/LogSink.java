@@ -0,0 +1,128 @@
+package DebugTools;
+
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+//formats and prints lines from a background thread so whatever is logging never waits on the console
+//the buffer is a fixed size, when it is full new lines are dropped and counted rather than waiting for room
+class LogSink {
+
+    private static final int CAPACITY = 4096;
+
+    //what a caller logged, the message is already text so it shows what was logged at the time
+    static class Entry
+    {
+        final TextOutput.Mode mode;
+        final String className;
+        //where the call came from, only looked up in extended mode, null and -1 otherwise
+        final String method;
+        final int line;
+        final String message;
+
+        Entry(TextOutput.Mode mode, String className, String method, int line, String message)
+        {
+            this.mode = mode;
+            this.className = className;
+            this.method = method;
+            this.line = line;
+            this.message = message;
+        }
+    }
+
+    private final ArrayBlockingQueue<Entry> lines = new ArrayBlockingQueue<>(CAPACITY);
+    //only used by whichever thread holds the lock to print
+    private String lastClass = "";
+    private final AtomicInteger dropped = new AtomicInteger();
+    private Thread printer;
+
+    LogSink()
+    {
+        //whatever is still waiting is printed before the program ends
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, "GX log flush"));
+    }
+
+    void offer(Entry line)
+    {
+        if (!lines.offer(line)) {
+            dropped.incrementAndGet();
+        }
+        if (printer == null) {
+            start();
+        }
+    }
+
+    private synchronized void start()
+    {
+        if (printer != null) return;
+        printer = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    try {
+                        Entry first = lines.take();
+                        synchronized (LogSink.this) {
+                            print(first);
+                            drain();
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "GX log");
+        printer.setDaemon(true);
+        printer.start();
+    }
+
+    private synchronized void drain()
+    {
+        ArrayList<Entry> batch = new ArrayList<>();
+        lines.drainTo(batch);
+        for (Entry e : batch) {
+            print(e);
+        }
+    }
+
+    //one line failing to print shouldn't stop the rest
+    private void print(Entry e)
+    {
+        try {
+            format(e);
+        } catch (RuntimeException ex) {
+            System.out.println("(a line could not be printed: " + ex + ")");
+        }
+    }
+
+    private void format(Entry e)
+    {
+        int lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            System.out.println("(" + lost + " lines dropped, logging faster than they can be printed)");
+        }
+        String s = e.message;
+        if (e.mode == TextOutput.Mode.NORMAL) {
+            System.out.println(e.className + " - " + s);
+        }
+        else if (e.mode == TextOutput.Mode.MINIMAL) {
+            if (!lastClass.equals(e.className)) {
+                lastClass = e.className;
+                System.out.println(e.className);
+            }
+            System.out.println("    " + s);
+        }
+        else if (e.mode == TextOutput.Mode.EXTENDED) {
+            if (e.method == null) {
+                System.out.println(String.format("%s: %s", e.className, s));
+            }
+            else {
+                System.out.println(String.format("%s in %s(line %s): %s", e.className, e.method, e.line, s));
+            }
+        }
+    }
+}
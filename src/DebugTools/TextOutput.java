@@ -2,6 +2,10 @@ package DebugTools;
 
 import DebugTools.TextModule.BaseTextModule;
 import DebugTools.TextModule.NullImplement;
+
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
 //Note:
 //categories are used as follows:
 //0: default
@@ -9,8 +13,7 @@ import DebugTools.TextModule.NullImplement;
 //2: permanent debug and constant
 public class TextOutput {
 
-    private static BaseTextModule module;
-    private static String lastClass = "";
+    private static volatile BaseTextModule module;
     public enum Mode
     {
         MINIMAL,
@@ -18,32 +21,25 @@ public class TextOutput {
         EXTENDED,
         REMOVED
     }
-    private static Mode current;
+    private static volatile Mode current;
+
+    //only walks as far down the stack as it needs to, instead of capturing all of it
+    private static final StackWalker walker = StackWalker.getInstance();
 
     static class Method
     {
-        void println(Object o, int cat, int pos)
+        void println(Object o, int cat, final int pos)
         {
-            StackTraceElement e = Thread.currentThread().getStackTrace()[pos];
-            String c = e.getClassName();
-            String s = o.toString();
-            if (module.allow(c, cat)) {
-                if (current.equals(TextOutput.Mode.NORMAL))
-                {
-                    System.out.println(c + " - " + s);
-                }
-                else if (current.equals(TextOutput.Mode.MINIMAL)) {
-                    if (!lastClass.equals(c))
-                    {
-                        lastClass = c;
-                        System.out.println(c);
-                    }
-                    System.out.println("    " + s);
-                }
-                else if (current.equals(TextOutput.Mode.EXTENDED))
-                {
-                    System.out.println(String.format("%s in %s(line %s): %s", c, e.getMethodName(), e.getLineNumber(), s));
+            //the class is only known from the stack, loggers from Log.get avoid this
+            //pos counts this method as 1, as Thread.getStackTrace did
+            StackWalker.StackFrame e = walker.walk(new Function<Stream<StackWalker.StackFrame>, StackWalker.StackFrame>() {
+                @Override
+                public StackWalker.StackFrame apply(Stream<StackWalker.StackFrame> frames) {
+                    return frames.skip(pos - 1).findFirst().orElse(null);
                 }
+            });
+            if (e != null && module.allow(e.getClassName(), cat)) {
+                write(e.getClassName(), e, o);
             }
         }
     }
@@ -54,7 +50,10 @@ public class TextOutput {
         void println(Object o, int cat, int pos) {
         }
     }
-    private static Method currentMethod;
+    private static volatile Method currentMethod;
+    //changes whenever the mode or module does so loggers know to check again
+    private static volatile int version = 0;
+    private static final LogSink sink = new LogSink();
 
     static
     {
@@ -64,12 +63,14 @@ public class TextOutput {
         currentMethod = new Method();
     }
 
-    public static void setModule(BaseTextModule m)
+    public static synchronized void setModule(BaseTextModule m)
     {
         module = m;
+        version++;
     }
-    public static void setMode(Mode m) {
+    public static synchronized void setMode(Mode m) {
         current = m;
+        version++;
         if (current == Mode.REMOVED)
         {
             currentMethod = new NullMethod();
@@ -94,4 +95,51 @@ public class TextOutput {
     {
         currentMethod.println(o, cat, pos);
     }
+
+    static int getVersion()
+    {
+        return version;
+    }
+
+    static boolean allows(String className, int cat)
+    {
+        return current != Mode.REMOVED && module.allow(className, cat);
+    }
+
+    static void write(final String className, Object o)
+    {
+        StackWalker.StackFrame e = null;
+        if (current == Mode.EXTENDED) {
+            //only this mode needs to know where the call came from
+            e = walker.walk(new Function<Stream<StackWalker.StackFrame>, StackWalker.StackFrame>() {
+                @Override
+                public StackWalker.StackFrame apply(Stream<StackWalker.StackFrame> frames) {
+                    Iterator<StackWalker.StackFrame> it = frames.iterator();
+                    while (it.hasNext()) {
+                        StackWalker.StackFrame frame = it.next();
+                        if (frame.getClassName().equals(className)) {
+                            return frame;
+                        }
+                    }
+                    return null;
+                }
+            });
+        }
+        write(className, e, o);
+    }
+
+    //the caller turns the message into text and queues it, the sink's thread lays out the line and prints it
+    private static void write(String c, StackWalker.StackFrame e, Object o)
+    {
+        Mode m = current;
+        if (m == Mode.REMOVED) return;
+        //made into text here, while the caller still holds what it logged as it was
+        String s = String.valueOf(o);
+        if (e == null) {
+            sink.offer(new LogSink.Entry(m, c, null, -1, s));
+        }
+        else {
+            sink.offer(new LogSink.Entry(m, c, e.getMethodName(), e.getLineNumber(), s));
+        }
+    }
 }
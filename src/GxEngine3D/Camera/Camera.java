@@ -2,7 +2,7 @@ package GxEngine3D.Camera;
 
 import GxEngine3D.Helper.DistanceCalc;
 import GxEngine3D.Helper.VectorCalc;
-import GxEngine3D.Model.Matrix.Matrix;
+import GxEngine3D.Model.Matrix.Mat4;
 import Shapes.BaseShape;
 
 import java.util.ArrayList;
@@ -13,13 +13,16 @@ public class Camera implements ICameraEvent{
 
 	private List<ICameraEventListener> mListeners = new ArrayList<ICameraEventListener>();
 
+	//changed by whichever thread moves the camera, always while holding the camera's lock
 	protected double[] viewFrom, prevFrom;
+	//where setup last placed the view, frames draw from this so moving the camera part way through one doesn't affect it
+	private double[] drawnFrom;
 	private double prevVLook = 0, prevHLook = 0;
 
 	protected double pitch = -0, yaw = 0, yawSpeed = 900, pitchSpeed = 2200, moveSpeed = 0.25;
 	private double upper = (Math.PI/2)-0.001, lower = (-Math.PI/2)+0.001;
 
-	Matrix cameraMatrix;
+	Mat4 cameraMatrix = new Mat4();
 
 	public enum Direction
 	{
@@ -32,21 +35,24 @@ public class Camera implements ICameraEvent{
 	public Camera(double x, double y, double z) {
 		viewFrom = new double[] { x, y, z };
 		prevFrom = new double[] { 0, 0, 0 };
+		drawnFrom = new double[] { x, y, z };
 	}
 
+	//where the frame being drawn is viewed from, only changes when setup is called
 	public double[] From() {
-		return viewFrom;
+		return drawnFrom;
 	}
 
-	public Matrix getMatrix() {
+	public Mat4 getMatrix() {
 		return cameraMatrix;
 	}
 
-	public double[] getPosition()
+	//where the camera is now, a copy as it may be moved at any time
+	public synchronized double[] getPosition()
 	{
-		return viewFrom;
+		return viewFrom.clone();
 	}
-	public double[] getDirection()
+	public synchronized double[] getDirection()
 	{
 		double cosPitch = Math.cos(pitch);
 		double[] direction = new double[]{
@@ -57,27 +63,35 @@ public class Camera implements ICameraEvent{
 		return direction;
 	}
 
-	public void setup() {
+	//takes the camera as it is now for the next frame, called by the thread drawing it
+	public synchronized void setup() {
+		drawnFrom[0] = viewFrom[0];
+		drawnFrom[1] = viewFrom[1];
+		drawnFrom[2] = viewFrom[2];
 		double cosPitch = Math.cos(pitch);
 		double sinPitch = Math.sin(pitch);
 		double cosYaw = Math.cos(yaw);
 		double sinYaw = Math.sin(yaw);
 
-		double[] xaxis = { cosYaw, 0, -sinYaw};
-		double[] yaxis = { sinYaw * sinPitch, cosPitch, cosYaw * sinPitch};
-		double[] zaxis = { sinYaw * cosPitch, -sinPitch, cosPitch * cosYaw};
-
-		double[][] viewMatrix = new double[][]{
-				{       xaxis[0],            xaxis[1],            xaxis[2],      -VectorCalc.dot( xaxis, viewFrom ) },
-				{       yaxis[0],            yaxis[1],            yaxis[2],      -VectorCalc.dot( yaxis, viewFrom ) },
-				{       zaxis[0],            zaxis[1],            zaxis[2],      -VectorCalc.dot( zaxis, viewFrom ) },
-				{ 		0,	 				 0, 				  0, 			 1}
-		};
-
-		cameraMatrix = new Matrix(viewMatrix);
+		double x = drawnFrom[0], y = drawnFrom[1], z = drawnFrom[2];
+
+		//rows are the x, y and z axes of the view, written in place since this happens every frame
+		double[] m = cameraMatrix.getArray();
+		m[0] = cosYaw;
+		m[1] = 0;
+		m[2] = -sinYaw;
+		m[4] = sinYaw * sinPitch;
+		m[5] = cosPitch;
+		m[6] = cosYaw * sinPitch;
+		m[8] = sinYaw * cosPitch;
+		m[9] = -sinPitch;
+		m[10] = cosPitch * cosYaw;
+		m[3] = -(m[0] * x + m[1] * y + m[2] * z);
+		m[7] = -(m[4] * x + m[5] * y + m[6] * z);
+		m[11] = -(m[8] * x + m[9] * y + m[10] * z);
 	}
 
-	public void lookAt(BaseShape s) {
+	public synchronized void lookAt(BaseShape s) {
 		double[] look = s.findCentre();
 		//System.out.println(look[0]+" "+look[1]+" "+look[2]);
 		yaw = Math.atan2(viewFrom[0] - look[0], viewFrom[2] - look[2]);
@@ -98,7 +112,7 @@ public class Camera implements ICameraEvent{
 		pitch = angle;
 	}
 
-	public void MoveTo(double x, double y, double z) {
+	public synchronized void MoveTo(double x, double y, double z) {
 		prevFrom[0] = viewFrom[0];
 		prevFrom[1] = viewFrom[1];
 		prevFrom[2] = viewFrom[2];
@@ -108,7 +122,7 @@ public class Camera implements ICameraEvent{
 		notifyMove();
 	}
 
-	public void CameraMovement(Map<Direction, Boolean> directions)
+	public synchronized void CameraMovement(Map<Direction, Boolean> directions)
 	{
 		double[] viewVector = getDirection();
 		double[] move = new double[3];
@@ -133,7 +147,7 @@ public class Camera implements ICameraEvent{
 		move = VectorCalc.add(viewFrom, VectorCalc.mul_v_d(move, moveSpeed));
 		MoveTo(move[0], move[1], move[2]);
 	}
-	public void MouseMovement(double NewMouseX, double NewMouseY) {
+	public synchronized void MouseMovement(double NewMouseX, double NewMouseY) {
 		double difX = NewMouseX;
 		double difY = NewMouseY;
 
@@ -171,12 +185,12 @@ public class Camera implements ICameraEvent{
 	}
 
 	@Override
-	public void add(ICameraEventListener e) {
+	public synchronized void add(ICameraEventListener e) {
 		mListeners.add(e);
 	}
 
 	@Override
-	public void remove(ICameraEvent e) {
+	public synchronized void remove(ICameraEvent e) {
 		mListeners.remove(e);
 	}
 }
@@ -18,8 +18,9 @@ public class OrbitingCamera extends Camera implements ITickListener{
         moveSpeed = 0.125;
     }
 
+    //held throughout so nothing else moves the camera between reading where it is and moving it
     @Override
-    public void onTick(GXTickEvent.Type t) {
+    public synchronized void onTick(GXTickEvent.Type t) {
         double[] viewVector = VectorCalc.norm(getDirection());
         double[] sideVector = VectorCalc.norm(VectorCalc.cross(viewVector, new double[]{0, 1, 0}));
 
@@ -0,0 +1,182 @@
+package GxEngine3D.Controller;
+
+import DebugTools.Events.FrameEvent;
+
+import java.util.Arrays;
+
+//how long each stage of a view's frames took, over the last SAMPLES frames
+//stages add their time as they run and endFrame files the totals away, so a stage that runs twice in a frame counts once
+public class FrameProfiler {
+
+	public enum Stage {
+		//tick listeners, shared by every view
+		TICK("tick"),
+		//transforming shapes that changed
+		SHAPES("shapes"),
+		//splitting intersecting polygons
+		SPLIT("split"),
+		//culling, projecting and shading polygons
+		PROJECT("project"),
+		//moving the light, shading each polygon is part of projecting as it happens in the same pass
+		LIGHTING("lighting"),
+		//preparing the ordering when polygons move and ordering them before drawing
+		ORDER("order"),
+		//the renderer filling in the view, less the ordering
+		DRAW("draw"),
+		//copying the finished image to the screen
+		PRESENT("present"),
+		//start to start, the time between one frame and the next
+		FRAME("frame");
+
+		private final String label;
+
+		Stage(String label)
+		{
+			this.label = label;
+		}
+
+		public String getLabel() {
+			return label;
+		}
+	}
+
+	public static final int SAMPLES = 240;
+
+	private static final Stage[] STAGES = Stage.values();
+
+	private long[][] samples = new long[STAGES.length][SAMPLES];
+	private long[] current = new long[STAGES.length];
+	//next slot to write and how many are filled
+	private int next = 0, count = 0;
+	private long frameStart = 0;
+	private long[] sorted = new long[SAMPLES];
+	//names the view in flight recordings
+	private String name;
+	//only replaced once committed, so nothing is allocated while flight recording is off
+	private FrameEvent event = new FrameEvent();
+
+	public FrameProfiler()
+	{
+		this("");
+	}
+
+	public FrameProfiler(String name)
+	{
+		this.name = name;
+	}
+
+	public synchronized void add(Stage s, long nanos)
+	{
+		current[s.ordinal()] += nanos;
+	}
+
+	public void endFrame()
+	{
+		endFrame(null);
+	}
+
+	//finishes the frame in progress and starts the next one, the first call only starts timing
+	//stats are the polygon counts of the frame being finished, for flight recordings
+	public synchronized void endFrame(FrameStats stats)
+	{
+		long now = System.nanoTime();
+		if (frameStart != 0) {
+			current[Stage.FRAME.ordinal()] = now - frameStart;
+			for (int i = 0; i < STAGES.length; i++) {
+				samples[i][next] = current[i];
+			}
+			next = (next + 1) % SAMPLES;
+			count = Math.min(count + 1, SAMPLES);
+			event.end();
+			if (event.shouldCommit()) {
+				commit(stats);
+				event = new FrameEvent();
+			}
+		}
+		Arrays.fill(current, 0);
+		frameStart = now;
+		event.begin();
+	}
+
+	private void commit(FrameStats stats)
+	{
+		event.view = name;
+		event.tick = current[Stage.TICK.ordinal()];
+		event.shapes = current[Stage.SHAPES.ordinal()];
+		event.split = current[Stage.SPLIT.ordinal()];
+		event.project = current[Stage.PROJECT.ordinal()];
+		event.lighting = current[Stage.LIGHTING.ordinal()];
+		event.order = current[Stage.ORDER.ordinal()];
+		event.draw = current[Stage.DRAW.ordinal()];
+		event.present = current[Stage.PRESENT.ordinal()];
+		if (stats != null) {
+			event.culledShapes = stats.getCulledShapes();
+			event.polygons = stats.getPolygons();
+			event.culledPolygons = stats.getCulled();
+			event.drawn = stats.getDrawn();
+		}
+		event.commit();
+	}
+
+	public synchronized void clear()
+	{
+		next = count = 0;
+		frameStart = 0;
+		Arrays.fill(current, 0);
+	}
+
+	//frames currently held, up to SAMPLES
+	public synchronized int getSamples() {
+		return count;
+	}
+
+	//in nanoseconds, p is between 0 and 1, 0 when there are no frames yet
+	public synchronized long getPercentile(Stage s, double p)
+	{
+		if (count == 0) return 0;
+		System.arraycopy(samples[s.ordinal()], 0, sorted, 0, count);
+		Arrays.sort(sorted, 0, count);
+		int i = (int) Math.ceil(p * count) - 1;
+		return sorted[Math.max(0, Math.min(count - 1, i))];
+	}
+
+	//in nanoseconds
+	public synchronized double getMean(Stage s)
+	{
+		if (count == 0) return 0;
+		long total = 0;
+		long[] ring = samples[s.ordinal()];
+		for (int i = 0; i < count; i++) {
+			total += ring[i];
+		}
+		return total / (double) count;
+	}
+
+	public double getFPS()
+	{
+		double frame = getMean(Stage.FRAME);
+		return frame == 0 ? 0 : 1e9 / frame;
+	}
+
+	//one line per stage with p50, p95 and p99 in milliseconds
+	public String[] getLines()
+	{
+		String[] lines = new String[STAGES.length + 1];
+		lines[0] = String.format("%-8s %6s %6s %6s  (%d frames)", "ms", "p50", "p95", "p99", getSamples());
+		for (int i = 0; i < STAGES.length; i++) {
+			Stage s = STAGES[i];
+			lines[i + 1] = String.format("%-8s %6.2f %6.2f %6.2f", s.getLabel(),
+					getPercentile(s, 0.5) / 1e6, getPercentile(s, 0.95) / 1e6, getPercentile(s, 0.99) / 1e6);
+		}
+		return lines;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		for (String line : getLines()) {
+			sb.append(line).append('\n');
+		}
+		return sb.toString();
+	}
+}
@@ -0,0 +1,52 @@
+package GxEngine3D.Controller;
+
+//counts of what happened to the scene's polygons the last time a view was updated
+public class FrameStats {
+	int shapes, culledShapes;
+	int polygons, backFaces, offScreen, drawn;
+
+	void reset()
+	{
+		shapes = culledShapes = 0;
+		polygons = backFaces = offScreen = drawn = 0;
+	}
+
+	public int getShapes() {
+		return shapes;
+	}
+
+	//shapes skipped entirely for being outside the view
+	public int getCulledShapes() {
+		return culledShapes;
+	}
+
+	//polygons of the shapes that weren't skipped
+	public int getPolygons() {
+		return polygons;
+	}
+
+	//polygons of closed shapes facing away from the camera
+	public int getBackFaces() {
+		return backFaces;
+	}
+
+	//polygons that were projected but clipped away entirely
+	public int getOffScreen() {
+		return offScreen;
+	}
+
+	public int getCulled() {
+		return backFaces + offScreen;
+	}
+
+	public int getDrawn() {
+		return drawn;
+	}
+
+	@Override
+	public String toString() {
+		return "shapes " + (shapes - culledShapes) + "/" + shapes
+				+ " polygons " + drawn + "/" + polygons
+				+ " (back faces " + backFaces + ", off screen " + offScreen + ")";
+	}
+}
@@ -9,9 +9,11 @@ import java.awt.event.MouseMotionListener;
 import java.awt.event.MouseWheelEvent;
 import java.awt.event.MouseWheelListener;
 import java.util.*;
+import java.util.concurrent.locks.LockSupport;
 
 import DebugTools.TextOutput;
 import GxEngine3D.Camera.Camera;
+import GxEngine3D.View.ActiveRenderer;
 import GxEngine3D.View.ViewController;
 import GxEngine3D.View.ViewHandler;
 import Shapes.BaseShape;
@@ -22,11 +24,25 @@ public class GXController extends GXTickEvent implements KeyListener,
 		MouseMotionListener, MouseWheelListener {
 	Robot r;
 
-	double drawFPS = 0, mxFPS = 60,
-			lastRefresh = 0, lastFPS = 0,
-			fpsChecks = 0;
+	double mxFPS = 60;
+	//in nanoseconds, when the next frame is due
+	long nextFrame = 0;
 
-	Map<Camera.Direction, Boolean> keys = new HashMap<>();
+	//draws the views from the loop's thread rather than through repaint when set
+	ActiveRenderer activeRenderer = null;
+	private Thread loop, simulation;
+	private volatile boolean running = false;
+
+	//after a stall at most this many steps are run to catch up, the rest of the time is dropped
+	private static final int MAX_STEPS = 5;
+	//ticks per second when the simulation runs on its own thread, 0 runs ticks and frames together in update
+	double tickRate = 0;
+	//when the last step was due, in nanoseconds, frames work out how far they are into the next step from it
+	private volatile long lastStep = 0;
+	ArrayList<IFrameListener> frameListeners = new ArrayList<>();
+
+	//written by the event thread and read by the simulation, only used while holding its lock
+	final Map<Camera.Direction, Boolean> keys = new EnumMap<>(Camera.Direction.class);
 
 	ViewController viewController;
 
@@ -34,45 +50,209 @@ public class GXController extends GXTickEvent implements KeyListener,
 		viewController = viewCon;
 	}
 
+	public void addFrameListener(IFrameListener l)
+	{
+		frameListeners.add(l);
+	}
+
+	//one tick and one frame together, how things run unless a fixed timestep is set
 	public void update()
 	{
+		tick();
+		frame(1);
+		sleep();
+	}
+
+	private void tick()
+	{
+		long start = System.nanoTime();
 		notifyPreTick();
 		notifyTick();
 		notifyPostTick();
+		//ticks are shared so every view is charged for them, several ticks before a frame add up
+		long ticking = System.nanoTime() - start;
+		for (ViewHandler vH : viewController.getHandlers()) {
+			vH.getProfiler().add(FrameProfiler.Stage.TICK, ticking);
+		}
 		//redraw the view we're currently controlling
-		if (isKeyPressed())
-		{
-			ViewHandler active = viewController.getActive();
-			active.getCamera().CameraMovement(keys);
-			active.getScene().scheduleRedraw();
+		//the camera is only read by frames through what setup takes from it, so it can be moved from here
+		synchronized (keys) {
+			if (isKeyPressed())
+			{
+				ViewHandler active = viewController.getActive();
+				active.getCamera().CameraMovement(keys);
+				active.getScene().scheduleRedraw();
+			}
+		}
+	}
+
+	private void frame(double alpha)
+	{
+		for (int i = 0; i < frameListeners.size(); i++) {
+			frameListeners.get(i).onFrame(alpha);
 		}
 		for (JPanel p:viewController.getViews())
 		{
-			p.repaint();
+			if (activeRenderer != null) {
+				long presenting = activeRenderer.render(p);
+				for (ViewHandler vH : viewController.getHandlers()) {
+					if (vH.getView() == p) {
+						vH.getProfiler().add(FrameProfiler.Stage.PRESENT, presenting);
+					}
+				}
+			}
+			else {
+				p.repaint();
+			}
 		}
-		sleep();
 	}
 
-	private void sleep() {
-		long timeSLU = (long) (System.currentTimeMillis() - lastRefresh);
-
-		fpsChecks++;
-		if (fpsChecks >= 15) {
-			drawFPS = fpsChecks
-					/ ((System.currentTimeMillis() - lastFPS) / 1000.0);
-			lastFPS = System.currentTimeMillis();
-			fpsChecks = 0;
+	//runs ticks on their own thread at a fixed rate, however long frames take, once start is called
+	//views should then be added as frame listeners rather than tick listeners so they are only updated when drawn
+	public void setFixedTimestep(double ticksPerSecond)
+	{
+		tickRate = ticksPerSecond;
+	}
+
+	//views are drawn by whichever thread calls update, normally the one start makes, instead of the event thread
+	//the panels should ignore repaints so swing doesn't draw over them
+	public void setActiveRendering(boolean b)
+	{
+		//swing paints the views itself again once they are let go
+		if (activeRenderer != null) {
+			for (JPanel p : viewController.getViews()) {
+				activeRenderer.remove(p);
+			}
 		}
+		activeRenderer = b ? new ActiveRenderer() : null;
+	}
 
-		if (timeSLU < 1000.0 / mxFPS) {
+	//runs until stop is called, either update on one thread or with a fixed timestep the simulation and frames on one each
+	public void start()
+	{
+		if (running) return;
+		running = true;
+		final boolean fixed = tickRate > 0;
+		//from here on swing's own paints of the views only copy what the render thread drew
+		if (activeRenderer != null) {
+			for (JPanel p : viewController.getViews()) {
+				activeRenderer.add(p);
+			}
+		}
+		if (fixed) {
+			//frames should never see a shape that hasn't been published yet
+			for (Scene s : viewController.getScenes()) {
+				s.publishTransforms();
+			}
+			lastStep = System.nanoTime();
+			simulation = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					simulate();
+				}
+			}, "GX simulation");
+			simulation.start();
+		}
+		loop = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				while (running) {
+					if (fixed) {
+						frame(getAlpha());
+						sleep();
+					}
+					else {
+						update();
+					}
+				}
+			}
+		}, "GX render");
+		loop.start();
+	}
+
+	public void stop()
+	{
+		running = false;
+		join(loop);
+		join(simulation);
+		loop = null;
+		simulation = null;
+	}
+
+	private void join(Thread t)
+	{
+		if (t != null && t != Thread.currentThread()) {
 			try {
-				Thread.sleep((long) (1000.0 / mxFPS - timeSLU));
+				t.join();
 			} catch (InterruptedException e) {
-				e.printStackTrace();
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	//steps are taken whenever enough time has built up, frames being slow never slows them down
+	private void simulate()
+	{
+		long stepLength = (long) (1e9 / tickRate);
+		long previous = System.nanoTime(), accumulator = 0;
+		while (running) {
+			long now = System.nanoTime();
+			accumulator += now - previous;
+			previous = now;
+			if (accumulator > stepLength * MAX_STEPS) {
+				accumulator = stepLength * MAX_STEPS;
+			}
+			boolean stepped = false;
+			while (accumulator >= stepLength) {
+				tick();
+				accumulator -= stepLength;
+				stepped = true;
 			}
+			if (stepped) {
+				//frames draw from what is published here while the next steps change the shapes
+				for (Scene s : viewController.getScenes()) {
+					s.publishTransforms();
+				}
+				lastStep = now - accumulator;
+			}
+			LockSupport.parkNanos(stepLength - accumulator);
 		}
+	}
 
-		lastRefresh = System.currentTimeMillis();
+	//how far the current frame is between the last two steps
+	private double getAlpha()
+	{
+		double alpha = (System.nanoTime() - lastStep) * tickRate / 1e9;
+		return Math.max(0, Math.min(1, alpha));
+	}
+
+	//frames per second of the view being controlled, over the frames its profiler holds
+	public double getFPS()
+	{
+		ViewHandler active = viewController.getActive();
+		return active == null ? 0 : active.getProfiler().getFPS();
+	}
+
+	public void setMaxFPS(double fps)
+	{
+		mxFPS = fps;
+	}
+
+	//waits until the next frame is due, frames are spaced from when they were due rather than when the last one finished
+	//so time spent drawing doesn't push every later frame back
+	private void sleep() {
+		long now = System.nanoTime();
+		long frameLength = (long) (1e9 / mxFPS);
+
+		if (nextFrame == 0 || now - nextFrame > frameLength) {
+			//first frame or fallen more than a frame behind, don't try to catch up
+			nextFrame = now;
+		}
+		nextFrame += frameLength;
+		long wait;
+		while ((wait = nextFrame - System.nanoTime()) > 0) {
+			LockSupport.parkNanos(wait);
+		}
 	}
 
 	private boolean isKeyPressed()
@@ -81,29 +261,31 @@ public class GXController extends GXTickEvent implements KeyListener,
 	}
 
 	public void keyReleased(KeyEvent e) {
-		if (e.getKeyCode() == KeyEvent.VK_W)
-			keys.put(Camera.Direction.UP, false);
-		if (e.getKeyCode() == KeyEvent.VK_A)
-			keys.put(Camera.Direction.LEFT, false);
-		if (e.getKeyCode() == KeyEvent.VK_S)
-			keys.put(Camera.Direction.DOWN, false);
-		if (e.getKeyCode() == KeyEvent.VK_D)
-			keys.put(Camera.Direction.RIGHT, false);
+		setKey(e, false);
+	}
+
+	private void setKey(KeyEvent e, boolean pressed)
+	{
+		synchronized (keys) {
+			if (e.getKeyCode() == KeyEvent.VK_W)
+				keys.put(Camera.Direction.UP, pressed);
+			if (e.getKeyCode() == KeyEvent.VK_A)
+				keys.put(Camera.Direction.LEFT, pressed);
+			if (e.getKeyCode() == KeyEvent.VK_S)
+				keys.put(Camera.Direction.DOWN, pressed);
+			if (e.getKeyCode() == KeyEvent.VK_D)
+				keys.put(Camera.Direction.RIGHT, pressed);
+		}
 	}
 
 	public void keyPressed(KeyEvent e) {
-		if (e.getKeyCode() == KeyEvent.VK_W)
-			keys.put(Camera.Direction.UP, true);
-		if (e.getKeyCode() == KeyEvent.VK_A)
-			keys.put(Camera.Direction.LEFT, true);
-		if (e.getKeyCode() == KeyEvent.VK_S)
-			keys.put(Camera.Direction.DOWN, true);
-		if (e.getKeyCode() == KeyEvent.VK_D)
-			keys.put(Camera.Direction.RIGHT, true);
+		setKey(e, true);
 		if (e.getKeyCode() == KeyEvent.VK_O)
 			viewController.getActive().setOutlines(!viewController.getActive().hasOutlines());
 		if (e.getKeyCode() == KeyEvent.VK_H)
 			viewController.getActive().setHover(!viewController.getActive().canHover());
+		if (e.getKeyCode() == KeyEvent.VK_P)
+			viewController.getActive().setProfileShown(!viewController.getActive().isProfileShown());
 		if (e.getKeyCode() == KeyEvent.VK_ESCAPE)
 			System.exit(0);
 	}
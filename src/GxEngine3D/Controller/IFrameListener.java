@@ -0,0 +1,7 @@
+package GxEngine3D.Controller;
+
+//called once per rendered frame, which may be more or less often than ticks
+//alpha is how far between the last two ticks the frame falls, from 0 to 1
+public interface IFrameListener {
+    void onFrame(double alpha);
+}
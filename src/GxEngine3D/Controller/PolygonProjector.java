@@ -0,0 +1,156 @@
+package GxEngine3D.Controller;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.View.ViewHandler;
+
+//projects the polygons queued up for a view, splitting large frames into chunks that run concurrently
+//each chunk writes to its own list and the lists are joined in order so the result matches projecting serially
+public class PolygonProjector {
+
+	//below this many polygons it isn't worth handing work to other threads
+	private static final int PARALLEL_THRESHOLD = 4096;
+	private static final int CHUNK_SIZE = 1024;
+
+	private ForkJoinPool pool;
+
+	private Polygon3D[] polygons = new Polygon3D[64];
+	private boolean[] cullBackFaces = new boolean[64];
+	private int size = 0;
+
+	//per chunk: what it drew and its backFaces, offScreen and drawn counts
+	private ArrayList<ArrayList<Polygon2D>> chunkDraw = new ArrayList<>();
+	private int[][] chunkStats = new int[0][];
+
+	public PolygonProjector(ForkJoinPool pool)
+	{
+		this.pool = pool;
+	}
+
+	public void setPool(ForkJoinPool pool)
+	{
+		this.pool = pool;
+	}
+
+	public void clear()
+	{
+		//let go of the polygons so removed ones can be collected
+		Arrays.fill(polygons, 0, size, null);
+		size = 0;
+	}
+
+	public void add(List<Polygon3D> polys, boolean cull)
+	{
+		if (size + polys.size() > polygons.length) {
+			int length = Math.max(polygons.length * 2, size + polys.size());
+			polygons = Arrays.copyOf(polygons, length);
+			cullBackFaces = Arrays.copyOf(cullBackFaces, length);
+		}
+		for (Polygon3D p : polys) {
+			polygons[size] = p;
+			cullBackFaces[size] = cull;
+			size++;
+		}
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	//fills draw, which should not be the list from the frame before since that may still be being drawn
+	public void project(Camera cam, Light light, ViewHandler v, FrameStats frame, ArrayList<Polygon2D> draw)
+	{
+		int chunks = size < PARALLEL_THRESHOLD || pool.getParallelism() < 2 ? 1 : (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+		int chunkSize = (size + chunks - 1) / Math.max(chunks, 1);
+		while (chunkDraw.size() < chunks) {
+			chunkDraw.add(new ArrayList<Polygon2D>());
+		}
+		if (chunkStats.length < chunks) {
+			chunkStats = new int[chunks][3];
+		}
+		if (chunks == 1) {
+			projectChunk(0, 0, size, cam, light, v);
+		} else {
+			pool.invoke(new ProjectTask(0, chunks, chunkSize, cam, light, v));
+		}
+		draw.clear();
+		for (int c = 0; c < chunks; c++) {
+			ArrayList<Polygon2D> part = chunkDraw.get(c);
+			//addAll would copy the chunk into a new array first
+			for (int i = 0; i < part.size(); i++) {
+				draw.add(part.get(i));
+			}
+			part.clear();
+			frame.polygons += Math.max(0, Math.min(size, (c + 1) * chunkSize) - c * chunkSize);
+			frame.backFaces += chunkStats[c][0];
+			frame.offScreen += chunkStats[c][1];
+			frame.drawn += chunkStats[c][2];
+		}
+	}
+
+	private void projectChunk(int chunk, int from, int to, Camera cam, Light light, ViewHandler v)
+	{
+		double[] eye = cam.From();
+		ArrayList<Polygon2D> draw = chunkDraw.get(chunk);
+		int[] stats = chunkStats[chunk];
+		stats[0] = stats[1] = stats[2] = 0;
+		for (int i = from; i < to; i++) {
+			Polygon3D poly = polygons[i];
+			if (cullBackFaces[i] && !poly.isFacing(eye)) {
+				stats[0]++;
+				continue;
+			}
+			Polygon2D dPoly = poly.updatePolygon(cam, light, v);
+			//reduce the number of polygons being ordered by removing those that are not in view
+			if (dPoly.canDraw()) {
+				draw.add(dPoly);
+				stats[2]++;
+			} else {
+				stats[1]++;
+			}
+		}
+	}
+
+	private class ProjectTask extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		int from, to, chunkSize;
+		Camera cam;
+		Light light;
+		ViewHandler v;
+
+		ProjectTask(int from, int to, int chunkSize, Camera cam, Light light, ViewHandler v)
+		{
+			this.from = from;
+			this.to = to;
+			this.chunkSize = chunkSize;
+			this.cam = cam;
+			this.light = light;
+			this.v = v;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= 1) {
+				if (to > from) {
+					projectChunk(from, from * chunkSize, Math.min(size, (from + 1) * chunkSize), cam, light, v);
+				}
+			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new ProjectTask(from, mid, chunkSize, cam, light, v),
+						new ProjectTask(mid, to, chunkSize, cam, light, v));
+			}
+		}
+	}
+}
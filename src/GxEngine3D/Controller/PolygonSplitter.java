@@ -0,0 +1,273 @@
+package GxEngine3D.Controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import DebugTools.Log;
+import GxEngine3D.Helper.IntersectionCalc;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+import GxEngine3D.Model.SplittingPackage;
+
+//splits polygons along where they pass through each other
+//a grid over the polygons' boxes means only polygons that are close together are ever compared
+public class PolygonSplitter {
+
+	private static final Log LOG = Log.get(PolygonSplitter.class);
+
+	private static final double EPSILON = 1e-9;
+	//limits the size of the grid for scenes where polygons are far apart
+	private static final int CELLS_PER_POLYGON = 8;
+
+	//everything seen so far by id, fragments included, ids are given out in the order polygons are made
+	private ArrayList<Polygon3D> polys = new ArrayList<>();
+	private ArrayList<double[]> planes = new ArrayList<>(), boxes = new ArrayList<>();
+	private boolean[] alive = new boolean[64];
+	//how many polygons existed when each one was compared with its neighbours, -1 when it hasn't been yet
+	private int[] checkedAt = new int[64];
+	//the fragments a polygon was split into, null while it is whole
+	private ArrayList<int[]> fragments = new ArrayList<>();
+
+	private SplitGrid grid;
+	//compares every polygon with every other instead of asking the grid, only for checking the grid against
+	private boolean allPairs = false;
+	private ArrayDeque<Integer> pending = new ArrayDeque<>();
+
+	private int sourceSize = 0;
+
+	public void setAllPairs(boolean b)
+	{
+		allPairs = b;
+	}
+
+	public List<Polygon3D> split(List<Polygon3D> source)
+	{
+		reset();
+		sourceSize = source.size();
+		double size = 0;
+		double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+				-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+		for (Polygon3D p : source) {
+			int id = add(p);
+			double[] box = boxes.get(id);
+			size += Math.max(box[3] - box[0], Math.max(box[4] - box[1], box[5] - box[2]));
+			for (int i = 0; i < 3; i++) {
+				bounds[i] = Math.min(bounds[i], box[i]);
+				bounds[i + 3] = Math.max(bounds[i + 3], box[i + 3]);
+			}
+			pending.add(id);
+		}
+		if (source.isEmpty()) return new ArrayList<>();
+		//fragments always lie within what they were split from so the grid never needs to grow
+		//cells about the size of an average polygon keep most polygons in a handful of cells
+		grid = null;
+		if (!allPairs) {
+			grid = new SplitGrid(bounds, Math.max(EPSILON, size / polys.size()), polys.size() * CELLS_PER_POLYGON);
+			for (int id = 0; id < polys.size(); id++) {
+				grid.add(id, boxes.get(id));
+			}
+		}
+		if (LOG.isEnabled(1)) {
+			LOG.println("Start " + source.size(), 1);
+		}
+		while (!pending.isEmpty()) {
+			check(pending.poll());
+		}
+		ArrayList<Polygon3D> result = new ArrayList<>();
+		for (int id = 0; id < source.size(); id++) {
+			collect(id, result);
+		}
+		if (LOG.isEnabled(1)) {
+			LOG.println("End " + result.size(), 1);
+		}
+		return result;
+	}
+
+	//what the source polygon at index ended up as after the last split
+	public List<Polygon3D> fragmentsOf(int index)
+	{
+		ArrayList<Polygon3D> result = new ArrayList<>();
+		if (index < sourceSize) {
+			collect(index, result);
+		}
+		return result;
+	}
+
+	private void reset()
+	{
+		polys.clear();
+		planes.clear();
+		boxes.clear();
+		fragments.clear();
+		pending.clear();
+	}
+
+	private int add(Polygon3D p)
+	{
+		int id = polys.size();
+		polys.add(p);
+		planes.add(IntersectionCalc.plane(p));
+		boxes.add(box(p));
+		fragments.add(null);
+		if (id == alive.length) {
+			alive = Arrays.copyOf(alive, id * 2);
+			checkedAt = Arrays.copyOf(checkedAt, id * 2);
+		}
+		alive[id] = true;
+		checkedAt[id] = -1;
+		return id;
+	}
+
+	//compares a polygon against everything near it that it hasn't already been compared with
+	private void check(int a)
+	{
+		double[] planeA = planes.get(a);
+		//lines, points and degenerate polygons can't be split
+		if (!alive[a] || planeA == null) return;
+		checkedAt[a] = polys.size();
+		double[] boxA = boxes.get(a);
+		//either way candidates are visited in ascending order, so both give the same splits
+		int count = grid == null ? polys.size() : grid.query(boxA);
+		int[] found = grid == null ? null : grid.getFound();
+		for (int i = 0; i < count; i++) {
+			int b = found == null ? i : found[i];
+			if (b == a || !alive[b] || planes.get(b) == null) continue;
+			//b was checked after a existed so it has already been compared with a
+			if (checkedAt[b] >= 0 && a < checkedAt[b]) continue;
+			if (!SplitGrid.overlaps(boxA, boxes.get(b), EPSILON)) continue;
+			int result = splitPair(a, b);
+			if ((result & 1) != 0) {
+				//a no longer exists, its fragments are checked next in its place
+				break;
+			}
+		}
+	}
+
+	//returns which of the two were split, 1 for a and 2 for b
+	private int splitPair(int a, int b)
+	{
+		Polygon3D p1 = polys.get(a), p2 = polys.get(b);
+		double[] plane01 = planes.get(a), plane02 = planes.get(b);
+		//the line between the planes can only cross both polygons if each has points either side of the other's plane
+		if (!IntersectionCalc.straddles(p1, plane02) || !IntersectionCalc.straddles(p2, plane01)) return 0;
+		//parallel planes, including the same plane, have no line to split along
+		double[] intersect = IntersectionCalc.planePlane(plane01, plane02);
+		if (intersect == null) return 0;
+		//find point intersection between the line intersection and the edges of the poly
+		SplittingPackage[] line = splitPolygon(p1, intersect);
+		if (line == null) return 0;
+		//find the point intersection for the other poly
+		SplittingPackage[] line02 = splitPolygon(p2, intersect);
+		if (line02 == null) return 0;
+		//the polygons only meet if the parts of the line inside each of them overlap
+		if (!IntersectionCalc.overlaps(intersect, line[0].getPoint(), line[1].getPoint(),
+				line02[0].getPoint(), line02[1].getPoint())) return 0;
+		//we don't always want to add both splits, sometimes it will split on an already existing edge thus generating an identical polygon
+		boolean b1 = !alreadyExists(line, p1), b2 = !alreadyExists(line02, p2);
+		if (LOG.isEnabled(1)) {
+			LOG.println("b1: " + b1 + " b2: " + b2, 1);
+		}
+		if (b1) {
+			replace(a, p1.splitAlong(line), true);
+		}
+		if (b2) {
+			replace(b, p2.splitAlong(line02), false);
+		}
+		return (b1 ? 1 : 0) | (b2 ? 2 : 0);
+	}
+
+	private void replace(int id, Polygon3D[] split, boolean first)
+	{
+		alive[id] = false;
+		int[] ids = new int[split.length];
+		for (int i = 0; i < split.length; i++) {
+			ids[i] = add(split[i]);
+			if (grid != null) {
+				grid.add(ids[i], boxes.get(ids[i]));
+			}
+		}
+		fragments.set(id, ids);
+		//fragments of the polygon being checked carry on where it left off, the other polygon's wait their turn
+		if (first) {
+			for (int i = ids.length - 1; i >= 0; i--) {
+				pending.addFirst(ids[i]);
+			}
+		} else {
+			for (int f : ids) {
+				pending.addLast(f);
+			}
+		}
+	}
+
+	//adds the polygon, or the fragments it ended up as, in place of it
+	private void collect(int id, List<Polygon3D> out)
+	{
+		int[] split = fragments.get(id);
+		if (split == null) {
+			out.add(polys.get(id));
+			return;
+		}
+		for (int f : split) {
+			collect(f, out);
+		}
+	}
+
+	private static boolean alreadyExists(SplittingPackage[] pack, Polygon3D poly)
+	{
+		RefPoint3D[] shape = poly.getShape();
+		int i, j;
+		for (i = 0, j = shape.length-1; i < shape.length; j = i++)
+		{
+			if (IntersectionCalc.onLine(shape[i], shape[j], pack[0].getPoint()) &&
+					IntersectionCalc.onLine(shape[i], shape[j], pack[1].getPoint()))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static SplittingPackage[] splitPolygon(Polygon3D poly, double[] lineIntersect)
+	{
+		RefPoint3D[] shape = poly.getShape();
+		SplittingPackage first = null;
+		int i, j;
+		for (i = 0, j = shape.length-1; i < shape.length; j = i++)
+		{
+			//only points on the edge itself count
+			double[] p = IntersectionCalc.lineSegment(lineIntersect, shape[i], shape[j]);
+			if (p != null)
+			{
+				SplittingPackage pack = new SplittingPackage(p, i);
+				if (first == null)
+				{
+					first = pack;
+				}
+				else
+				{
+					//edges are visited in order so these are already the right way round
+					return new SplittingPackage[]{first, pack};
+				}
+			}
+		}
+		//not enough intersection relativePoints were found
+		return null;
+	}
+
+	static double[] box(Polygon3D poly)
+	{
+		double[] box = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+				-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+		for (RefPoint3D p : poly.getShape()) {
+			box[0] = Math.min(box[0], p.X());
+			box[1] = Math.min(box[1], p.Y());
+			box[2] = Math.min(box[2], p.Z());
+			box[3] = Math.max(box[3], p.X());
+			box[4] = Math.max(box[4], p.Y());
+			box[5] = Math.max(box[5], p.Z());
+		}
+		return box;
+	}
+}
@@ -1,31 +1,83 @@
 package GxEngine3D.Controller;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
-import GxEngine3D.Model.Matrix.AlgebraicMatrix;
-import GxEngine3D.Helper.VectorCalc;
 import GxEngine3D.Camera.Camera;
-import DebugTools.TextOutput;
+import DebugTools.Events.OrderEvent;
+import DebugTools.Events.SplitEvent;
+import DebugTools.Log;
+import GxEngine3D.Controller.FrameProfiler.Stage;
 import GxEngine3D.Lighting.Light;
 import GxEngine3D.Model.*;
 import GxEngine3D.Ordering.IOrderStrategy;
 import GxEngine3D.View.PolygonIterator;
 import GxEngine3D.View.ViewHandler;
 import Shapes.IShape;
+import Shapes.IShapeListener;
 
-public class Scene implements ITickListener {
+public class Scene implements ITickListener, IShapeListener {
 
-	private ArrayList<IShape> shapes = new ArrayList<IShape>();
+	private static final Log LOG = Log.get(Scene.class);
+
+	//below this many changed shapes they are updated on the calling thread
+	private static final int PARALLEL_UPDATE_THRESHOLD = 256;
+	private static final int UPDATE_CHUNK_SIZE = 64;
+
+	//replaced rather than changed, so other threads can go through it while shapes are added or removed
+	private volatile ArrayList<IShape> shapes = new ArrayList<IShape>();
+	private final Object shapesLock = new Object();
+	//the list the polygons were last gathered from
+	private ArrayList<IShape> gathered = null;
+	//set once the simulation publishes poses, shapes added after that are published straight away
+	private volatile boolean publishing = false;
 
 	private ArrayList<Polygon3D> polygons = new ArrayList<Polygon3D>();
 	private ArrayList<Polygon3D> splitPolygons = new ArrayList<Polygon3D>();
+	//remembers earlier splits so only polygons near changes are split again
+	private SplitCache splitCache = new SplitCache();
+	//what the ordering strategy prepared from the split polygons, these are what actually get drawn
+	private List<Polygon3D> partitionedPolygons = new ArrayList<Polygon3D>();
+	//the same polygons grouped by the shape they belong to, in the same order as shapes, so whole shapes can be skipped
+	private ArrayList<ArrayList<Polygon3D>> shapePolygons = new ArrayList<>();
+	private ArrayList<Polygon3D> unownedPolygons = new ArrayList<>();
+	private IdentityHashMap<IShape, ArrayList<Polygon3D>> groups = new IdentityHashMap<>();
+	private long shapeVersion = -1;
 	private Map<ViewHandler, ArrayList<Polygon2D>> drawablePolygons = new HashMap<>();
+	//two lists per view which take turns, like the polygons in them, so the one being drawn is left alone
+	private Map<ViewHandler, DrawableBuffers> drawableBuffers = new HashMap<>();
+	//ordering state is reused every frame rather than reallocated
+	private Map<ViewHandler, PolygonIterator> iterators = new HashMap<>();
+	//one per view, only replaced once committed so nothing is allocated while flight recording is off
+	private Map<ViewHandler, OrderEvent> orderEvents = new HashMap<>();
+	private SplitEvent splitEvent = new SplitEvent();
+	private ArrayList<Polygon3D> orderInput = new ArrayList<>();
+	private Map<ViewHandler, FrameStats> stats = new HashMap<>();
+	//scenes share one pool unless given their own parallelism, so several scenes don't each start a thread per core
+	private static ForkJoinPool shared;
+	//shared by the shape updates and the projection
+	private ForkJoinPool pool = sharedPool();
+	private boolean ownsPool = false;
+	//projects large frames across several threads
+	private PolygonProjector projector = new PolygonProjector(pool);
+	//shapes that have changed since they were last updated, filled in by the shapes themselves
+	//identity backed so marking a shape again doesn't allocate a node, and clearing keeps the table
+	private Set<IShape> dirtyShapes = Collections.newSetFromMap(new IdentityHashMap<IShape, Boolean>());
+	private IShape[] updating = new IShape[16];
 
 	Light lightSource;
 	IOrderStrategy orderStrategy;
 
-	private boolean globalRedraw = true, needsUpdate = false;
+	//set from the simulation and event threads
+	private volatile boolean globalRedraw = true, needsUpdate = false;
 	public boolean shouldSplit = false;
+	//project each shape's points together instead of polygon by polygon
+	private boolean batchProjection = false;
+	//skip shapes that are entirely outside the view before touching their polygons
+	private boolean culling = true;
+	//skip polygons of closed shapes that face away from the camera
+	private boolean backFaceCulling = true;
 	
 	public Scene(Light ls, IOrderStrategy o) {
 		super();
@@ -56,14 +108,119 @@ public class Scene implements ITickListener {
 		shouldSplit = b;
 	}
 
+	public void setBatchProjection(boolean b)
+	{
+		batchProjection = b;
+	}
+
+	public void setCulling(boolean b)
+	{
+		culling = b;
+	}
+
+	public void setBackFaceCulling(boolean b)
+	{
+		backFaceCulling = b;
+	}
+
+	private static synchronized ForkJoinPool sharedPool()
+	{
+		if (shared == null) {
+			shared = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+		}
+		return shared;
+	}
+
+	public void setParallelism(int parallelism)
+	{
+		if (parallelism != pool.getParallelism()) {
+			dispose();
+			pool = new ForkJoinPool(parallelism);
+			ownsPool = true;
+			projector.setPool(pool);
+		}
+	}
+
+	//stops this scene's own threads, if it has any, and goes back to the shared pool
+	public void dispose()
+	{
+		if (ownsPool) {
+			pool.shutdown();
+			ownsPool = false;
+		}
+		pool = sharedPool();
+		projector.setPool(pool);
+	}
+
+	public FrameStats getStats(ViewHandler vH)
+	{
+		return stats.get(vH);
+	}
+
 	public void addObject(IShape s) {
-		shapes.add(s);
+		synchronized (shapesLock) {
+			ArrayList<IShape> next = new ArrayList<>(shapes);
+			next.add(s);
+			shapes = next;
+		}
+		s.addListener(this);
+		//publishTransforms may have already gone past it, frames should never draw from its live transform
+		if (publishing) {
+			s.publishPose();
+		}
+		//it may have been moved before being added, when nobody was listening
+		onScheduleUpdate(s);
 		scheduleUpdate();
 	}
 	
+	public void removeObject(IShape s) {
+		boolean removed;
+		synchronized (shapesLock) {
+			ArrayList<IShape> next = new ArrayList<>(shapes);
+			removed = next.remove(s);
+			if (removed) {
+				shapes = next;
+			}
+		}
+		if (removed) {
+			s.removeListener(this);
+			synchronized (dirtyShapes) {
+				dirtyShapes.remove(s);
+			}
+			scheduleUpdate();
+		}
+	}
+
+	//can be called from the update threads when a shape schedules itself again while updating
+	@Override
+	public void onScheduleUpdate(IShape s) {
+		synchronized (dirtyShapes) {
+			dirtyShapes.add(s);
+		}
+	}
+
+	//called by the simulation thread after each step so shapes can be drawn while the next step changes them
+	public void publishTransforms()
+	{
+		publishing = true;
+		ArrayList<IShape> current = shapes;
+		for (int i = 0; i < current.size(); i++) {
+			current.get(i).publishPose();
+		}
+	}
+
+	//places moving shapes between their last two published poses, only shapes that moved in the last step are affected
+	public void setInterpolation(double alpha)
+	{
+		ArrayList<IShape> current = shapes;
+		for (int i = 0; i < current.size(); i++) {
+			current.get(i).setInterpolation(alpha);
+		}
+	}
+
 	public ArrayList<IShape> getShapes()
 	{
-		return (ArrayList<IShape>) shapes.clone();
+		return new ArrayList<>(shapes);
 	}
 
 	//NOTE: its extremely rare that the "same" order would be needed twice in a row so caching order should only give minimal improvements
@@ -71,33 +228,69 @@ public class Scene implements ITickListener {
 	{
 		if (drawablePolygons.containsKey(vH)) {
 			//we only need to order the polygons when we're about to draw them instead of every time we update the polygons
-			List<Polygon2D> drawable = (List<Polygon2D>) drawablePolygons.get(vH).clone();
-			ArrayList<Polygon3D> copy = new ArrayList<>();
+			//drawable lists swap each frame rather than being changed so there is no need to copy it
+			List<Polygon2D> drawable = drawablePolygons.get(vH);
+			PolygonIterator it = iterators.get(vH);
+			if (it == null) {
+				it = new PolygonIterator();
+				iterators.put(vH, it);
+			}
+			OrderEvent event = orderEvents.get(vH);
+			if (event == null) {
+				event = new OrderEvent();
+				orderEvents.put(vH, event);
+			}
+			long start = System.nanoTime();
+			orderInput.clear();
 
 			//reducing the amount of things to order to aid performance
-			//also we're ot using BSP yet so having order for things we can't see isn't advantageous
 			for (Polygon2D dp:drawable)
 			{
-				copy.add(dp.getBelongsToPolygon());
+				orderInput.add(dp.getBelongsToPolygon());
+			}
+			event.begin();
+			int[] o = orderStrategy.order(vH.getCamera().From(), orderInput, it.getOrder(), it.getHistory());
+			if (event.shouldCommit()) {
+				event.strategy = orderStrategy.getClass().getSimpleName();
+				event.polygons = orderInput.size();
+				event.commit();
+				orderEvents.put(vH, new OrderEvent());
 			}
-			List<Integer> o = orderStrategy.order(vH.getCamera().From(), copy);
 			setPolyHover(drawable, o);
-			return new PolygonIterator(drawable, o);
+			it.reset(drawable, o);
+			//ordering happens inside drawing, take it back off drawing so the stages don't overlap
+			long ordering = System.nanoTime() - start;
+			vH.getProfiler().add(Stage.ORDER, ordering);
+			vH.getProfiler().add(Stage.DRAW, -ordering);
+			return it;
 		}
 		//the views want to render before we're setup, bug?
-		TextOutput.println(vH.hashCode() + " is null");
+		if (LOG.isEnabled(0)) {
+			LOG.println(vH.hashCode() + " is null");
+		}
 		return null;
 	}
 	
+	//the unordered polygons for renderers that do not rely on ordering
+	public List<Polygon2D> getDrawable(ViewHandler vH)
+	{
+		return drawablePolygons.get(vH);
+	}
+	
 	public void update(ViewHandler v) {
-		boolean update = needsUpdate, redraw = v.canRedraw() || globalRedraw;
+		//the whole frame works from one list, shapes added or removed part way through wait for the next
+		ArrayList<IShape> shapes = this.shapes;
+		boolean update = needsUpdate || shapes != gathered, redraw = v.canRedraw() || globalRedraw;
 		needsUpdate = false;
+		gathered = shapes;
 		v.setRedraw(false);
 		Camera cam = v.getCamera();
+		FrameProfiler profiler = v.getProfiler();
+		long start = System.nanoTime(), end;
 		if (update){
 			//somethings changed but we don't know what, either:
 			//-a shape was added
-			//-(future)a shape was removed
+			//-a shape was removed
 			polygons.clear();
 			for (IShape s : shapes) {
 				for (Polygon3D p : s.getShape()) {
@@ -111,192 +304,206 @@ public class Scene implements ITickListener {
 		//-moving the polygon
 		//so we still need to update polygon in case its trying to move
 		if (redraw) {
-			for (IShape s : shapes) {
-				//TODO check whether the shape needs to be updated first
-				s.update();
-			}
+			updateShapes();
+		}
+		long version = getShapeVersion(shapes);
+		boolean moved = version != shapeVersion;
+		end = System.nanoTime();
+		profiler.add(Stage.SHAPES, end - start);
+		start = end;
+		//split points are fixed in place so shapes that move have to be split again
+		if (update || (shouldSplit && moved)) {
+			updateSplitting(shapes);
+			end = System.nanoTime();
+			profiler.add(Stage.SPLIT, end - start);
+			start = end;
 		}
-		if (update) {
-			updateSplitting();
+		//the ordering only needs to prepare again when the polygons have actually moved
+		if (update || moved) {
+			shapeVersion = version;
+			partition(shapes);
+			end = System.nanoTime();
+			profiler.add(Stage.ORDER, end - start);
+			start = end;
 		}
 		if (redraw) {
 			lightSource.updateLighting();
+			end = System.nanoTime();
+			profiler.add(Stage.LIGHTING, end - start);
+			start = end;
 			cam.setup();
-			ArrayList<Polygon2D> draw = new ArrayList<>();
+			v.updateViewProjection();
+			Frustum frustum = v.getFrustum();
+			FrameStats frame = stats.get(v);
+			if (frame == null) {
+				frame = new FrameStats();
+				stats.put(v, frame);
+			}
+			frame.reset();
 
-			for (Polygon3D poly : splitPolygons) {
-				Polygon2D dPoly = poly.updatePolygon(cam, lightSource, v);
-				//reduce the number of polygons being ordered by removing those that are not in view
-				if (dPoly.canDraw()) {
-					draw.add(dPoly);
+			//shapes are culled and batch projected here, their polygons are queued and projected together after
+			projector.clear();
+			for (int i = 0; i < shapes.size(); i++) {
+				IShape s = shapes.get(i);
+				frame.shapes++;
+				if (culling && !frustum.intersects(s.getBounds())) {
+					frame.culledShapes++;
+					continue;
 				}
+				if (batchProjection) {
+					s.getVertices().project(v.getViewProjection(), v.getProjectionId());
+				}
+				projector.add(shapePolygons.get(i), backFaceCulling && s.isClosed());
+			}
+			projector.add(unownedPolygons, false);
+			DrawableBuffers buffers = drawableBuffers.get(v);
+			if (buffers == null) {
+				buffers = new DrawableBuffers();
+				drawableBuffers.put(v, buffers);
 			}
+			ArrayList<Polygon2D> draw = buffers.get(v.getFrame());
+			projector.project(cam, lightSource, v, frame, draw);
 			drawablePolygons.put(v, draw);
+			profiler.add(Stage.PROJECT, System.nanoTime() - start);
 		}
 	}
 
-	private void setPolyHover(List<Polygon2D> polys, List<Integer> order) {
-		Polygon2D dp;
-		for (int i = polys.size() - 1; i >= 0; i--) {
-			int pos = order.get(i);
-			dp = polys.get(pos);
-				if (dp.isMouseOver()) {
-					TextOutput.println(pos, 2);
-					dp.hover();
-					break;
+	//only shapes that have changed are updated, in parallel when there are enough of them
+	private void updateShapes()
+	{
+		int count;
+		synchronized (dirtyShapes) {
+			count = dirtyShapes.size();
+			if (count > updating.length) {
+				updating = new IShape[Math.max(count, updating.length * 2)];
 			}
+			dirtyShapes.toArray(updating);
+			//shapes that schedule themselves while updating are picked up next time
+			dirtyShapes.clear();
 		}
-	}
-
-	public void updateSplitting() {
-		ArrayList<Polygon3D> splitPolygons = (ArrayList<Polygon3D>) polygons.clone();
-		if (shouldSplit) {
-			TextOutput.println("Start " + splitPolygons.size(), 1);
-			for (int i = 0; i < splitPolygons.size(); i++) {
-				//find line intersection between the planes
-				Polygon3D p1 = splitPolygons.get(i);
-				if (p1.getShape().length <= 2) continue;//this is a line or a point
-				Plane plane01 = new Plane(p1);
-
-				ArrayList<Polygon3D> copy = (ArrayList<Polygon3D>) splitPolygons.clone();
-				//items behind i have been entirely checked so no need to keep checking them
-				for (int ii = i + 1; ii < copy.size(); ii++) {
-					TextOutput.println("Split Index " + i + " " + ii, 1);
-					Polygon3D p2 = copy.get(ii);
-					if (p2.getShape().length <= 2) continue;
-					Plane plane02 = new Plane(p2);
-					//the same planes can have extremely small differences that the matrix see's them as different planes
-					//technically we should also check their relativePoints but if they are parallel thenno split really makes sense
-					if (VectorCalc.v_v_equals(plane01.getNV().toArray(), plane02.getNV().toArray())) {
-						TextOutput.println("Is same plane", 1);
-						continue;
-					}
-					AlgebraicMatrix m = new AlgebraicMatrix(2, 4);
-					m.addEqautionOfPlane(plane01);
-					m.addEqautionOfPlane(plane02);
-					m.gaussJordandElimination();
-					m.determineSolution();
-					if (m.getSolutionType() == AlgebraicMatrix.SolutionType.LINE) {
-						//find point intersection between the line intersection and the edges of the poly
-						SplittingPackage[] line = splitPolygon(p1, m);
-						if (line != null) {
-							//find the point intersection for the other poly
-							SplittingPackage[] line02 = splitPolygon(p2, m);
-							if (line02 != null) {
-								//we don't always want to add both splits, sometimes it will split on an already existing edge thus generating an identical polygon
-								boolean b1 = !alreadyExists(line, p1), b2 = !alreadyExists(line02, p2);
-								TextOutput.println("b1: " + b1 + " b2: " + b2, 1);
-								if (b1) {
-									Polygon3D[] splits01 = p1.splitAlong(line);
-									splitPolygons.remove(i);
-									for (Polygon3D p : splits01) {
-										splitPolygons.add(i, p);
-									}
-								}
-								if (b2) {
-									Polygon3D[] splits02 = p2.splitAlong(line02);
-									if (!b1) {
-										splitPolygons.remove(ii);
-									} else {
-										splitPolygons.remove(ii + 1);//removes i then adds 2, so -1 + 2 == +1
-									}
-									for (Polygon3D p : splits02) {
-										splitPolygons.add(p);
-									}
-								}
-								if (b1 || b2) {
-									TextOutput.println("Split done", 1);
-									i--;
-									break;//we split the polygon and it no longer exists so this iteration needs to stop
-								}
-							} else {
-								TextOutput.println("Line02 is null", 1);
-							}
-						} else {
-							TextOutput.println("Line01 is null", 1);
-						}
-					} else {
-						TextOutput.println("Not a Line Solution: " + m.getSolutionType(), 1);
-					}
-				}
+		if (count < PARALLEL_UPDATE_THRESHOLD || pool.getParallelism() < 2) {
+			for (int i = 0; i < count; i++) {
+				updating[i].update();
 			}
-			TextOutput.println("End "+splitPolygons.size(), 1);
+		} else {
+			pool.invoke(new UpdateTask(updating, 0, count));
 		}
-		this.splitPolygons = splitPolygons;
+		Arrays.fill(updating, 0, count, null);
 	}
 
-	private boolean alreadyExists(SplittingPackage[] pack, Polygon3D poly)
+	private static class DrawableBuffers
 	{
-		RefPoint3D[] shape = poly.getShape();
-		int i, j;
-		for (i = 0, j = shape.length-1; i < shape.length; j = i++)
+		ArrayList<Polygon2D> even = new ArrayList<>(), odd = new ArrayList<>();
+
+		ArrayList<Polygon2D> get(int frame)
 		{
-			AlgebraicMatrix line = new AlgebraicMatrix(2, 4);
-			line.addEqautionOfLine(shape[i].toArray(), shape[j].toArray());
-			if (line.satisfiesEquation(pack[0].getPoint()) && line.satisfiesEquation(pack[1].getPoint()))
-			{
-				return true;
-			}
+			return (frame & 1) == 0 ? even : odd;
 		}
-		return false;
 	}
 
-	//TODO kind of a mess
-	private SplittingPackage[] splitPolygon(Polygon3D poly, AlgebraicMatrix lineIntersect)
+	private static class UpdateTask extends RecursiveAction
 	{
-		RefPoint3D[] shape = poly.getShape();
-		ArrayList<SplittingPackage> points = new ArrayList<>();
-		int i, j;
-		for (i = 0, j = shape.length-1; i < shape.length; j = i++)
+		private static final long serialVersionUID = 1L;
+
+		IShape[] shapes;
+		int from, to;
+
+		UpdateTask(IShape[] shapes, int from, int to)
 		{
-			double[] p = splitEdge(shape[i].toArray(), shape[j].toArray(), lineIntersect);
-			if (p != null)
-			{
-				//check if the intersection is on the line segment
-				if (VectorCalc.p3_in_line_seg(shape[i].toArray(),
-						shape[j].toArray(), p))
-				{
-					points.add(new SplittingPackage(p, i));
+			this.shapes = shapes;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= UPDATE_CHUNK_SIZE) {
+				for (int i = from; i < to; i++) {
+					shapes[i].update();
 				}
 			}
+			else {
+				int mid = (from + to) >>> 1;
+				invokeAll(new UpdateTask(shapes, from, mid), new UpdateTask(shapes, mid, to));
+			}
 		}
-		if (points.size() >= 2)
-		{
-			//makes proper order
-			if (points.get(0).getIndex() > points.get(1).getIndex())
-			{
-				return new SplittingPackage[]{
-						points.get(1),
-						points.get(0)
-				};
+	}
+
+	//versions only ever go up so the sum changes whenever any shape moves
+	private long getShapeVersion(List<IShape> shapes)
+	{
+		long version = 0;
+		for (IShape s : shapes) {
+			version += s.getTransformVersion();
+		}
+		return version;
+	}
+
+	private void partition(List<IShape> shapes)
+	{
+		List<Polygon3D> partitioned = orderStrategy.partition(splitPolygons);
+		//the groups are refilled rather than remade, this runs every frame that anything moves
+		groups.clear();
+		while (shapePolygons.size() > shapes.size()) {
+			shapePolygons.remove(shapePolygons.size() - 1);
+		}
+		while (shapePolygons.size() < shapes.size()) {
+			shapePolygons.add(new ArrayList<Polygon3D>());
+		}
+		for (int i = 0; i < shapes.size(); i++) {
+			ArrayList<Polygon3D> group = shapePolygons.get(i);
+			group.clear();
+			groups.put(shapes.get(i), group);
+		}
+		unownedPolygons.clear();
+		for (int i = 0; i < partitioned.size(); i++) {
+			Polygon3D p = partitioned.get(i);
+			p.setIndex(i);
+			ArrayList<Polygon3D> group = groups.get(p.getBelongsTo());
+			if (group != null) {
+				group.add(p);
+			} else {
+				unownedPolygons.add(p);
 			}
-			else
-			{
-				return new SplittingPackage[]{
-						points.get(0),
-						points.get(1)
-				};
+		}
+		partitionedPolygons = partitioned;
+	}
+
+	private void setPolyHover(List<Polygon2D> polys, int[] order) {
+		Polygon2D dp;
+		for (int i = polys.size() - 1; i >= 0; i--) {
+			int pos = order[i];
+			dp = polys.get(pos);
+				if (dp.isMouseOver()) {
+					if (LOG.isEnabled(2)) {
+						LOG.println(pos, 2);
+					}
+					dp.hover();
+					break;
 			}
 		}
-		//not enough intersection relativePoints were found
-		return null;
 	}
 
-	private double[] splitEdge(double[] e1, double[] e2, AlgebraicMatrix lineIntersect)
-	{
-		//we need to add another line so +2 length required
-		AlgebraicMatrix edgeIntersect = new AlgebraicMatrix(lineIntersect.getRows() + 2, 4);
-		edgeIntersect.insertMatrix(lineIntersect);
-		edgeIntersect.addEqautionOfLine(e1, e2);
-		edgeIntersect.gaussJordandElimination();
-		edgeIntersect.determineSolution();
-		if (edgeIntersect.getSolutionType() == AlgebraicMatrix.SolutionType.POINT) {
-			return edgeIntersect.getPointSolution();
-		}
-		else
-		{
-			//there was no useful intersect
-			return null;
+	public void updateSplitting() {
+		updateSplitting(shapes);
+	}
+
+	private void updateSplitting(List<IShape> shapes) {
+		SplitEvent event = splitEvent;
+		event.begin();
+		if (shouldSplit) {
+			splitPolygons = splitCache.split(shapes);
+		} else {
+			splitCache.clear();
+			splitPolygons = (ArrayList<Polygon3D>) polygons.clone();
+		}
+		if (event.shouldCommit()) {
+			event.splitting = shouldSplit;
+			event.input = polygons.size();
+			event.output = splitPolygons.size();
+			event.resplit = shouldSplit ? splitCache.getResplit() : polygons.size();
+			event.commit();
+			splitEvent = new SplitEvent();
 		}
 	}
 
@@ -0,0 +1,190 @@
+package GxEngine3D.Controller;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import DebugTools.Log;
+import GxEngine3D.Helper.IntersectionCalc;
+import GxEngine3D.Model.Polygon3D;
+import Shapes.IShape;
+
+//keeps what every polygon was split into so only polygons near something that changed are split again
+//polygons that can cut each other, and those that can cut them and so on, form a group
+//what a polygon is split into depends on its whole group and the order it is in, but on nothing outside of it
+//so a group is split again, all of it and in scene order, only when something in it changed, and comes out as a full split would
+public class SplitCache {
+
+	private static final Log LOG = Log.get(SplitCache.class);
+
+	private static final double EPSILON = 1e-9;
+	//limits the size of the grid for scenes where polygons are far apart
+	private static final int CELLS_PER_POLYGON = 8;
+
+	private static class Entry
+	{
+		//the group the polygon was in when it was split
+		int group;
+		List<Polygon3D> fragments;
+	}
+
+	private IdentityHashMap<Polygon3D, Entry> cache = new IdentityHashMap<>();
+	private IdentityHashMap<IShape, Integer> versions = new IdentityHashMap<>();
+	private PolygonSplitter splitter = new PolygonSplitter();
+	private int nextGroup = 0;
+	private int resplit = 0;
+
+	//the split polygons of every shape, in the same order as the shapes and their polygons
+	public ArrayList<Polygon3D> split(List<IShape> shapes)
+	{
+		ArrayList<Polygon3D> current = new ArrayList<>();
+		ArrayList<Entry> entries = new ArrayList<>();
+		//polygons that appeared or moved, their groups now are split again
+		ArrayList<Integer> seeds = new ArrayList<>();
+		//groups that something moved out of or disappeared from, these are split again too
+		HashSet<Integer> broken = new HashSet<>();
+		IdentityHashMap<IShape, Integer> newVersions = new IdentityHashMap<>();
+		for (IShape s : shapes) {
+			Integer version = versions.get(s);
+			boolean moved = version == null || version != s.getTransformVersion();
+			newVersions.put(s, s.getTransformVersion());
+			for (Polygon3D p : s.getShape()) {
+				Entry e = cache.remove(p);
+				if (moved || e == null) {
+					seeds.add(current.size());
+					if (e != null) broken.add(e.group);
+				}
+				current.add(p);
+				entries.add(e);
+			}
+		}
+		//whatever is left belonged to polygons that have gone away, such as those of removed shapes
+		for (Entry e : cache.values()) {
+			broken.add(e.group);
+		}
+		versions = newVersions;
+		for (int i = 0; i < current.size() && !broken.isEmpty(); i++) {
+			Entry e = entries.get(i);
+			if (e != null && broken.contains(e.group)) {
+				seeds.add(i);
+			}
+		}
+
+		int[] groups = new int[current.size()];
+		boolean[] dirty = new boolean[current.size()];
+		if (!seeds.isEmpty()) {
+			findGroups(current, seeds, dirty, groups);
+		}
+		ArrayList<Polygon3D> source = new ArrayList<>();
+		for (int i = 0; i < current.size(); i++) {
+			if (dirty[i]) {
+				source.add(current.get(i));
+			}
+		}
+		if (!source.isEmpty()) {
+			splitter.split(source);
+		}
+		resplit = source.size();
+		if (LOG.isEnabled(1)) {
+			LOG.println("Resplit " + source.size() + " of " + current.size(), 1);
+		}
+
+		cache = new IdentityHashMap<>();
+		ArrayList<Polygon3D> result = new ArrayList<>();
+		int next = 0;
+		for (int i = 0; i < current.size(); i++) {
+			Entry e = entries.get(i);
+			if (dirty[i]) {
+				e = new Entry();
+				e.group = groups[i];
+				e.fragments = splitter.fragmentsOf(next++);
+			}
+			cache.put(current.get(i), e);
+			result.addAll(e.fragments);
+		}
+		return result;
+	}
+
+	//marks everything in the same group as a seed as dirty, and gives each group found a new number
+	//the grid means only polygons whose boxes touch are ever compared
+	private void findGroups(List<Polygon3D> polys, List<Integer> seeds, boolean[] dirty, int[] groups)
+	{
+		int n = polys.size();
+		double[][] boxes = new double[n][];
+		double size = 0;
+		double[] bounds = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE,
+				-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+		for (int i = 0; i < n; i++) {
+			double[] box = boxes[i] = PolygonSplitter.box(polys.get(i));
+			size += Math.max(box[3] - box[0], Math.max(box[4] - box[1], box[5] - box[2]));
+			for (int ii = 0; ii < 3; ii++) {
+				bounds[ii] = Math.min(bounds[ii], box[ii]);
+				bounds[ii + 3] = Math.max(bounds[ii + 3], box[ii + 3]);
+			}
+		}
+		SplitGrid grid = new SplitGrid(bounds, Math.max(EPSILON, size / n), n * CELLS_PER_POLYGON);
+		for (int i = 0; i < n; i++) {
+			grid.add(i, boxes[i]);
+		}
+		//worked out as they are needed, most polygons are never reached
+		double[][] planes = new double[n][];
+		boolean[] hasPlane = new boolean[n];
+		ArrayDeque<Integer> pending = new ArrayDeque<>();
+		for (int seed : seeds) {
+			if (dirty[seed]) continue;
+			int group = nextGroup++;
+			dirty[seed] = true;
+			groups[seed] = group;
+			pending.add(seed);
+			while (!pending.isEmpty()) {
+				int a = pending.poll();
+				double[] planeA = plane(polys, planes, hasPlane, a);
+				//lines, points and degenerate polygons can't cut or be cut
+				if (planeA == null) continue;
+				int count = grid.query(boxes[a]);
+				int[] found = grid.getFound();
+				for (int i = 0; i < count; i++) {
+					int b = found[i];
+					if (dirty[b] || !SplitGrid.overlaps(boxes[a], boxes[b], EPSILON)) continue;
+					double[] planeB = plane(polys, planes, hasPlane, b);
+					if (planeB != null && canCut(polys.get(a), planeA, polys.get(b), planeB)) {
+						dirty[b] = true;
+						groups[b] = group;
+						pending.add(b);
+					}
+				}
+			}
+		}
+	}
+
+	private static double[] plane(List<Polygon3D> polys, double[][] planes, boolean[] hasPlane, int i)
+	{
+		if (!hasPlane[i]) {
+			hasPlane[i] = true;
+			planes[i] = IntersectionCalc.plane(polys.get(i));
+		}
+		return planes[i];
+	}
+
+	//the same first checks the splitter makes, fragments lie within what they came from so can only pass them if it does
+	private static boolean canCut(Polygon3D a, double[] planeA, Polygon3D b, double[] planeB)
+	{
+		return IntersectionCalc.straddles(a, planeB) && IntersectionCalc.straddles(b, planeA) &&
+				IntersectionCalc.planePlane(planeA, planeB) != null;
+	}
+
+	//forgets everything so the next split starts from scratch
+	public void clear()
+	{
+		cache.clear();
+		versions.clear();
+	}
+
+	//how many polygons were split again by the last split
+	public int getResplit()
+	{
+		return resplit;
+	}
+}
@@ -0,0 +1,140 @@
+package GxEngine3D.Controller;
+
+import java.util.Arrays;
+
+//uniform grid over boxes given as {minX, minY, minZ, maxX, maxY, maxZ}
+//finds which boxes could overlap a box without checking every one of them
+//nothing is ever removed, callers skip ids they no longer care about
+public class SplitGrid {
+
+	//boxes covering more cells than this are kept in one list and returned by every query
+	private static final int MAX_CELLS = 256;
+
+	private double minX, minY, minZ, cellSize;
+	private int sizeX, sizeY, sizeZ;
+	//per cell: count followed by the ids in it, null while empty
+	private int[][] cells;
+	private int[] large = new int[8];
+	private int largeCount = 0;
+
+	private int[] found = new int[64];
+	private int foundCount = 0;
+	//stops an id being found twice by one query
+	private int[] seen = new int[64];
+	private int stamp = 0;
+
+	//bounds must contain every box that will be added, cells grow if there would be more than maxCells of them
+	public SplitGrid(double[] bounds, double cellSize, int maxCells)
+	{
+		minX = bounds[0];
+		minY = bounds[1];
+		minZ = bounds[2];
+		double w = bounds[3] - minX, h = bounds[4] - minY, d = bounds[5] - minZ;
+		while ((cells(w, cellSize) * cells(h, cellSize) * cells(d, cellSize)) > maxCells) {
+			cellSize *= 2;
+		}
+		this.cellSize = cellSize;
+		sizeX = (int) cells(w, cellSize);
+		sizeY = (int) cells(h, cellSize);
+		sizeZ = (int) cells(d, cellSize);
+		this.cells = new int[sizeX * sizeY * sizeZ][];
+	}
+
+	private static long cells(double length, double cellSize)
+	{
+		return (long) Math.floor(length / cellSize) + 1;
+	}
+
+	public void add(int id, double[] box)
+	{
+		int x0 = cell(box[0] - minX, sizeX), y0 = cell(box[1] - minY, sizeY), z0 = cell(box[2] - minZ, sizeZ);
+		int x1 = cell(box[3] - minX, sizeX), y1 = cell(box[4] - minY, sizeY), z1 = cell(box[5] - minZ, sizeZ);
+		if ((x1 - x0 + 1) * (y1 - y0 + 1) * (z1 - z0 + 1) > MAX_CELLS) {
+			large = append(large, largeCount++, id);
+			return;
+		}
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				for (int z = z0; z <= z1; z++) {
+					int index = (x * sizeY + y) * sizeZ + z;
+					int[] ids = cells[index];
+					if (ids == null) {
+						ids = new int[4];
+					}
+					ids = append(ids, ids[0] + 1, id);
+					ids[0]++;
+					cells[index] = ids;
+				}
+			}
+		}
+	}
+
+	//finds the ids of boxes that share a cell with the box, returns how many there are
+	//they are put in ascending order at the start of getFound()
+	public int query(double[] box)
+	{
+		if (++stamp == 0) {
+			//wrapped around, old stamps could now match
+			Arrays.fill(seen, 0);
+			stamp = 1;
+		}
+		foundCount = 0;
+		int x0 = cell(box[0] - minX, sizeX), y0 = cell(box[1] - minY, sizeY), z0 = cell(box[2] - minZ, sizeZ);
+		int x1 = cell(box[3] - minX, sizeX), y1 = cell(box[4] - minY, sizeY), z1 = cell(box[5] - minZ, sizeZ);
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				for (int z = z0; z <= z1; z++) {
+					int[] ids = cells[(x * sizeY + y) * sizeZ + z];
+					if (ids != null) {
+						collect(ids, 1, ids[0] + 1);
+					}
+				}
+			}
+		}
+		collect(large, 0, largeCount);
+		Arrays.sort(found, 0, foundCount);
+		return foundCount;
+	}
+
+	public int[] getFound()
+	{
+		return found;
+	}
+
+	private void collect(int[] ids, int from, int to)
+	{
+		for (int i = from; i < to; i++) {
+			int id = ids[i];
+			if (id >= seen.length) {
+				seen = Arrays.copyOf(seen, Math.max(id + 1, seen.length * 2));
+			}
+			if (seen[id] != stamp) {
+				seen[id] = stamp;
+				found = append(found, foundCount++, id);
+			}
+		}
+	}
+
+	//clamped so points a rounding error outside the bounds still land in the grid
+	private int cell(double v, int size)
+	{
+		return Math.max(0, Math.min(size - 1, (int) Math.floor(v / cellSize)));
+	}
+
+	private static int[] append(int[] arr, int index, int v)
+	{
+		if (index >= arr.length) {
+			arr = Arrays.copyOf(arr, arr.length * 2);
+		}
+		arr[index] = v;
+		return arr;
+	}
+
+	//whether two boxes touch or overlap
+	public static boolean overlaps(double[] a, double[] b, double epsilon)
+	{
+		return a[0] <= b[3] + epsilon && b[0] <= a[3] + epsilon &&
+				a[1] <= b[4] + epsilon && b[1] <= a[4] + epsilon &&
+				a[2] <= b[5] + epsilon && b[2] <= a[5] + epsilon;
+	}
+}
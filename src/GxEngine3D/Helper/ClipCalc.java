@@ -0,0 +1,153 @@
+package GxEngine3D.Helper;
+
+//clipping in homogeneous clip space, before the divide by w
+//points are given as separate x, y, z and w arrays: {x[], y[], z[], w[]}
+public class ClipCalc {
+
+    //outcode bits, set when a point is outside that plane
+    public static final int LEFT = 1, RIGHT = 2, BOTTOM = 4, TOP = 8, NEAR = 16, FAR = 32;
+
+    //a guard band of 1 is the frustum itself, anything bigger moves the side planes out by that factor
+    public static int outcode(double x, double y, double z, double w, double guardBand)
+    {
+        double gw = w * guardBand;
+        int code = 0;
+        if (x < -gw) code |= LEFT;
+        if (x > gw) code |= RIGHT;
+        if (y < -gw) code |= BOTTOM;
+        if (y > gw) code |= TOP;
+        if (z < -w) code |= NEAR;
+        if (z > w) code |= FAR;
+        return code;
+    }
+
+    //where clipped points are written, kept by whoever clips often so clipping doesn't allocate once it has grown
+    //the points are only valid until the buffer is used again, and only the first getCount() of them
+    public static class Buffer
+    {
+        private double[][] a = new double[4][0], b = new double[4][0];
+        private double[][] points;
+        private int count;
+
+        public double[][] getPoints() {
+            return points;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        //whichever of the two isn't src, big enough for capacity points
+        private double[][] other(double[][] src, int capacity)
+        {
+            if (src == a) {
+                if (b[0].length < capacity) b = new double[4][capacity];
+                return b;
+            }
+            if (a[0].length < capacity) a = new double[4][capacity];
+            return a;
+        }
+    }
+
+    //sutherland-hodgman against every plane in planes, returns the clipped points which may be none
+    public static double[][] clipPolygon(double[][] points, int planes, double guardBand)
+    {
+        Buffer out = new Buffer();
+        clipPolygon(points, points[0].length, planes, guardBand, out);
+        return trim(out.points, out.count);
+    }
+
+    //the same but for the first n points, leaving the result in out
+    public static void clipPolygon(double[][] points, int n, int planes, double guardBand, Buffer out)
+    {
+        for (int plane = 0; plane < 6 && n > 0; plane++) {
+            if ((planes & (1 << plane)) != 0) {
+                //each edge adds at most two points
+                double[][] dst = out.other(points, n * 2);
+                n = clipAgainst(points, n, plane, guardBand, dst);
+                points = dst;
+            }
+        }
+        out.points = points;
+        out.count = n;
+    }
+
+    private static int clipAgainst(double[][] points, int n, int plane, double guardBand, double[][] out)
+    {
+        int count = 0;
+        int i, j;
+        for (i = 0, j = n - 1; i < n; j = i++) {
+            double da = distance(points, j, plane, guardBand), db = distance(points, i, plane, guardBand);
+            if ((da >= 0) != (db >= 0)) {
+                lerp(points, j, i, da / (da - db), out, count++);
+            }
+            if (db >= 0) {
+                copy(points, i, out, count++);
+            }
+        }
+        return count;
+    }
+
+    //lines can't use the polygon clip since the two edges of a 2 point polygon are the same line
+    public static double[][] clipLine(double[][] points, int planes, double guardBand)
+    {
+        Buffer out = new Buffer();
+        clipLine(points, planes, guardBand, out);
+        return trim(out.points, out.count);
+    }
+
+    public static void clipLine(double[][] points, int planes, double guardBand, Buffer out)
+    {
+        double[][] dst = out.other(points, 2);
+        out.points = dst;
+        out.count = 0;
+        double t0 = 0, t1 = 1;
+        for (int plane = 0; plane < 6; plane++) {
+            if ((planes & (1 << plane)) == 0) continue;
+            double da = distance(points, 0, plane, guardBand), db = distance(points, 1, plane, guardBand);
+            if (da < 0 && db < 0) return;
+            if (da < 0) {
+                t0 = Math.max(t0, da / (da - db));
+            } else if (db < 0) {
+                t1 = Math.min(t1, da / (da - db));
+            }
+        }
+        if (t0 > t1) return;
+        lerp(points, 0, 1, t0, dst, 0);
+        lerp(points, 0, 1, t1, dst, 1);
+        out.count = 2;
+    }
+
+    //positive inside the plane
+    private static double distance(double[][] p, int i, int plane, double guardBand)
+    {
+        double w = p[3][i];
+        //planes come in pairs along each axis, the first of each pair being the negative side
+        int axis = plane >> 1;
+        if (axis < 2) w *= guardBand;
+        return (plane & 1) == 0 ? w + p[axis][i] : w - p[axis][i];
+    }
+
+    private static void lerp(double[][] p, int a, int b, double t, double[][] out, int i)
+    {
+        for (int c = 0; c < 4; c++) {
+            out[c][i] = p[c][a] + (p[c][b] - p[c][a]) * t;
+        }
+    }
+
+    private static void copy(double[][] p, int a, double[][] out, int i)
+    {
+        for (int c = 0; c < 4; c++) {
+            out[c][i] = p[c][a];
+        }
+    }
+
+    private static double[][] trim(double[][] p, int count)
+    {
+        double[][] out = new double[4][count];
+        for (int c = 0; c < 4; c++) {
+            System.arraycopy(p[c], 0, out[c], 0, count);
+        }
+        return out;
+    }
+}
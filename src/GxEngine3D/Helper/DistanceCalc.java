@@ -17,5 +17,10 @@ public class DistanceCalc {
 		}
 		return Math.sqrt(total);
 	}
+	//same as above without needing the point as an array
+	public static double getDistance(double[] d1, double x, double y, double z) {
+		double dx = d1[0] - x, dy = d1[1] - y, dz = d1[2] - z;
+		return Math.sqrt(dx * dx + dy * dy + dz * dz);
+	}
 
 }
@@ -0,0 +1,121 @@
+package GxEngine3D.Helper;
+
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+
+//direct formulas for the plane and line intersections used when splitting polygons
+//does the same job as building an AlgebraicMatrix and eliminating it, without the matrices
+public class IntersectionCalc {
+
+    static double epsilon = 1e-9;
+
+    //the polygon's plane as {nx, ny, nz, d} where n.p = d and n is unit length
+    //uses the first three points like Plane does, null when they don't make a plane
+    public static double[] plane(Polygon3D poly)
+    {
+        RefPoint3D[] shape = poly.getShape();
+        if (shape.length < 3) return null;
+        RefPoint3D p0 = shape[0], p1 = shape[1], p2 = shape[2];
+        double ax = p1.X() - p0.X(), ay = p1.Y() - p0.Y(), az = p1.Z() - p0.Z();
+        double bx = p2.X() - p0.X(), by = p2.Y() - p0.Y(), bz = p2.Z() - p0.Z();
+        double nx = ay * bz - az * by, ny = az * bx - ax * bz, nz = ax * by - ay * bx;
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (len < epsilon) return null;
+        nx /= len;
+        ny /= len;
+        nz /= len;
+        return new double[]{nx, ny, nz, nx * p0.X() + ny * p0.Y() + nz * p0.Z()};
+    }
+
+    //whether the polygon has points on both sides of the plane, or touching it
+    //a polygon can only be crossed by a line in the plane when this is true
+    public static boolean straddles(Polygon3D poly, double[] plane)
+    {
+        boolean below = false, above = false;
+        for (RefPoint3D p : poly.getShape()) {
+            double d = plane[0] * p.X() + plane[1] * p.Y() + plane[2] * p.Z() - plane[3];
+            if (d <= epsilon) below = true;
+            if (d >= -epsilon) above = true;
+            if (below && above) return true;
+        }
+        return false;
+    }
+
+    //the line where two planes meet as {px, py, pz, dx, dy, dz}, null when the planes are parallel
+    public static double[] planePlane(double[] a, double[] b)
+    {
+        //the line runs along the cross product of the normals
+        double dx = a[1] * b[2] - a[2] * b[1];
+        double dy = a[2] * b[0] - a[0] * b[2];
+        double dz = a[0] * b[1] - a[1] * b[0];
+        double lenSq = dx * dx + dy * dy + dz * dz;
+        //normals are unit length so this is the sine of the angle between them
+        if (lenSq < epsilon * epsilon) return null;
+        //point = (da * (nb x dir) + db * (dir x na)) / |dir|^2, the point on the line closest to the origin
+        double da = a[3], db = b[3];
+        double px = da * (b[1] * dz - b[2] * dy) + db * (dy * a[2] - dz * a[1]);
+        double py = da * (b[2] * dx - b[0] * dz) + db * (dz * a[0] - dx * a[2]);
+        double pz = da * (b[0] * dy - b[1] * dx) + db * (dx * a[1] - dy * a[0]);
+        return new double[]{px / lenSq, py / lenSq, pz / lenSq, dx, dy, dz};
+    }
+
+    //how far along a to b the line crosses, assuming both are in the same plane
+    //NaN when they are parallel
+    public static double lineEdge(double[] line, RefPoint3D a, RefPoint3D b)
+    {
+        double ex = b.X() - a.X(), ey = b.Y() - a.Y(), ez = b.Z() - a.Z();
+        double ux = line[3], uy = line[4], uz = line[5];
+        double wx = line[0] - a.X(), wy = line[1] - a.Y(), wz = line[2] - a.Z();
+        //e x u
+        double cx = ey * uz - ez * uy, cy = ez * ux - ex * uz, cz = ex * uy - ey * ux;
+        double cSq = cx * cx + cy * cy + cz * cz;
+        double eSq = ex * ex + ey * ey + ez * ez, uSq = ux * ux + uy * uy + uz * uz;
+        if (cSq <= epsilon * epsilon * eSq * uSq) return Double.NaN;
+        //t = ((w x u).(e x u)) / |e x u|^2
+        double qx = wy * uz - wz * uy, qy = wz * ux - wx * uz, qz = wx * uy - wy * ux;
+        return (qx * cx + qy * cy + qz * cz) / cSq;
+    }
+
+    //the point where the line crosses the edge a to b, null when it misses
+    public static double[] lineSegment(double[] line, RefPoint3D a, RefPoint3D b)
+    {
+        double t = lineEdge(line, a, b);
+        //NaN fails both comparisons so parallel edges are rejected here too
+        if (!(t >= -epsilon && t <= 1 + epsilon)) return null;
+        t = Math.max(0, Math.min(1, t));
+        return new double[]{
+                a.X() + (b.X() - a.X()) * t,
+                a.Y() + (b.Y() - a.Y()) * t,
+                a.Z() + (b.Z() - a.Z()) * t};
+    }
+
+    //whether the parts of the line a0 to a1 and b0 to b1 share any points, all four being on the line
+    public static boolean overlaps(double[] line, double[] a0, double[] a1, double[] b0, double[] b1)
+    {
+        double ta0 = along(line, a0), ta1 = along(line, a1), tb0 = along(line, b0), tb1 = along(line, b1);
+        double len = Math.sqrt(line[3] * line[3] + line[4] * line[4] + line[5] * line[5]);
+        //distances along the line are scaled by its length so the tolerance has to be as well
+        double tolerance = epsilon * len;
+        return Math.max(ta0, ta1) >= Math.min(tb0, tb1) - tolerance && Math.max(tb0, tb1) >= Math.min(ta0, ta1) - tolerance;
+    }
+
+    private static double along(double[] line, double[] p)
+    {
+        return (p[0] - line[0]) * line[3] + (p[1] - line[1]) * line[4] + (p[2] - line[2]) * line[5];
+    }
+
+    //whether p is on the infinite line through a and b
+    public static boolean onLine(RefPoint3D a, RefPoint3D b, double[] p)
+    {
+        double ex = b.X() - a.X(), ey = b.Y() - a.Y(), ez = b.Z() - a.Z();
+        double wx = p[0] - a.X(), wy = p[1] - a.Y(), wz = p[2] - a.Z();
+        double cx = ey * wz - ez * wy, cy = ez * wx - ex * wz, cz = ex * wy - ey * wx;
+        double eSq = ex * ex + ey * ey + ez * ez;
+        if (eSq < epsilon * epsilon) {
+            //a and b are the same point
+            return wx * wx + wy * wy + wz * wz < epsilon * epsilon;
+        }
+        //|w x e| / |e| is the distance from the line
+        return cx * cx + cy * cy + cz * cz < epsilon * epsilon * eSq;
+    }
+}
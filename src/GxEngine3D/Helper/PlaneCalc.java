@@ -67,7 +67,10 @@ public class PlaneCalc {
     {
         int pos = 0, neg = 0;
         for (RefPoint3D testPoint:testPoints) {
-            double dot = whichSide(testPoint.toArray(), planeNormal, planePoint);
+            //only the sign is needed so there's no need to normalise like whichSide does
+            double dot = (planePoint[0] - testPoint.X()) * planeNormal[0] +
+                    (planePoint[1] - testPoint.Y()) * planeNormal[1] +
+                    (planePoint[2] - testPoint.Z()) * planeNormal[2];
             if (dot > 0)
             {
                 pos++;
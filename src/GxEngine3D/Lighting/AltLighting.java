@@ -1,24 +1,28 @@
 package GxEngine3D.Lighting;
 
-import GxEngine3D.Helper.VectorCalc;
 import GxEngine3D.Camera.Camera;
 import GxEngine3D.Model.Plane;
+import GxEngine3D.Model.Vector;
 
 //lacks the subtlety of previous methods but is most correct at this point
 public class AltLighting implements ILightingStrategy {
     @Override
     public double doLighting(Light l, Plane p, Camera c) {
-
-        double[] lightV = VectorCalc.mul_v_d(l.getLightVector(p.getP()), -1);
-        double[] surface = VectorCalc.norm(p.getNV().toArray());
-        double flip = VectorCalc.dot(VectorCalc.norm(VectorCalc.sub(p.getP(), c.From())), surface);
+        //worked out without normalising or making arrays, only the signs of the dot products matter
+        //called for every polygon every frame so it shouldn't allocate
+        double[] point = p.getP(), light = l.getPosition(), from = c.From();
+        Vector n = p.getNV();
+        double sx = n.X(), sy = n.Y(), sz = n.Z();
+        double flip = (point[0] - from[0]) * sx + (point[1] - from[1]) * sy + (point[2] - from[2]) * sz;
         if (flip > 0)
         {
-            surface = VectorCalc.mul_v_d(surface, -1);
+            sx = -sx;
+            sy = -sy;
+            sz = -sz;
         }
         //if the vector of the surface normal equals the light vector, means that the light is behind the plane and the camera is in front
         //meaning that the side viewed would be dark
-        if (VectorCalc.dot(surface, lightV) > 0) {
+        if ((point[0] - light[0]) * sx + (point[1] - light[1]) * sy + (point[2] - light[2]) * sz > 0) {
             return 0.33;
         }
         else {
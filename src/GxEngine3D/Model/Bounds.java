@@ -0,0 +1,87 @@
+package GxEngine3D.Model;
+
+//axis aligned box and bounding sphere around a set of points
+//the sphere is centred on the box so it is cheap to find, just not the tightest fit
+public class Bounds {
+
+	private double minX, minY, minZ, maxX, maxY, maxZ;
+	private double centreX, centreY, centreZ, radius;
+	private boolean empty = true;
+
+	public void update(VertexBuffer points)
+	{
+		int n = points.size();
+		empty = n == 0;
+		if (empty) return;
+		double[] x = points.x, y = points.y, z = points.z;
+		minX = maxX = x[0];
+		minY = maxY = y[0];
+		minZ = maxZ = z[0];
+		for (int i = 1; i < n; i++)
+		{
+			minX = Math.min(minX, x[i]);
+			maxX = Math.max(maxX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxY = Math.max(maxY, y[i]);
+			minZ = Math.min(minZ, z[i]);
+			maxZ = Math.max(maxZ, z[i]);
+		}
+		centreX = (minX + maxX) * 0.5;
+		centreY = (minY + maxY) * 0.5;
+		centreZ = (minZ + maxZ) * 0.5;
+		double r = 0;
+		for (int i = 0; i < n; i++)
+		{
+			double dx = x[i] - centreX, dy = y[i] - centreY, dz = z[i] - centreZ;
+			r = Math.max(r, dx * dx + dy * dy + dz * dz);
+		}
+		radius = Math.sqrt(r);
+	}
+
+	public boolean isEmpty()
+	{
+		return empty;
+	}
+
+	public double getMinX()
+	{
+		return minX;
+	}
+	public double getMinY()
+	{
+		return minY;
+	}
+	public double getMinZ()
+	{
+		return minZ;
+	}
+	public double getMaxX()
+	{
+		return maxX;
+	}
+	public double getMaxY()
+	{
+		return maxY;
+	}
+	public double getMaxZ()
+	{
+		return maxZ;
+	}
+
+	public double getCentreX()
+	{
+		return centreX;
+	}
+	public double getCentreY()
+	{
+		return centreY;
+	}
+	public double getCentreZ()
+	{
+		return centreZ;
+	}
+	public double getRadius()
+	{
+		return radius;
+	}
+}
@@ -0,0 +1,53 @@
+package GxEngine3D.Model;
+
+import GxEngine3D.Model.Matrix.Mat4;
+
+//the six planes of a view, taken straight from its view projection matrix
+//planes point inwards so anything with a negative distance to one of them is outside
+public class Frustum {
+
+	//left, right, bottom, top, near, far as a, b, c, d where ax + by + cz + d is the distance
+	private final double[] planes = new double[24];
+
+	public void update(Mat4 viewProjection)
+	{
+		double[] m = viewProjection.getArray();
+		for (int i = 0; i < 3; i++)
+		{
+			//each axis gives two planes, w + axis and w - axis
+			int row = i * 4;
+			setPlane(i * 2, m[12] + m[row], m[13] + m[row + 1], m[14] + m[row + 2], m[15] + m[row + 3]);
+			setPlane(i * 2 + 1, m[12] - m[row], m[13] - m[row + 1], m[14] - m[row + 2], m[15] - m[row + 3]);
+		}
+	}
+
+	private void setPlane(int plane, double a, double b, double c, double d)
+	{
+		//normalised so distances are real distances, the sphere test relies on it
+		double len = Math.sqrt(a * a + b * b + c * c);
+		int p = plane * 4;
+		planes[p] = a / len;
+		planes[p + 1] = b / len;
+		planes[p + 2] = c / len;
+		planes[p + 3] = d / len;
+	}
+
+	//conservative, may let through things just outside a corner but never rejects anything inside
+	public boolean intersects(Bounds b)
+	{
+		if (b.isEmpty()) return false;
+		for (int p = 0; p < 24; p += 4)
+		{
+			double a = planes[p], bb = planes[p + 1], c = planes[p + 2], d = planes[p + 3];
+			//the sphere is cheaper so is tried first
+			double dist = a * b.getCentreX() + bb * b.getCentreY() + c * b.getCentreZ() + d;
+			if (dist < -b.getRadius()) return false;
+			//the corner of the box furthest along the plane's normal
+			double x = a >= 0 ? b.getMaxX() : b.getMinX();
+			double y = bb >= 0 ? b.getMaxY() : b.getMinY();
+			double z = c >= 0 ? b.getMaxZ() : b.getMinZ();
+			if (a * x + bb * y + c * z + d < 0) return false;
+		}
+		return true;
+	}
+}
@@ -1,6 +1,6 @@
 package GxEngine3D.Model.Matrix;
 
-import DebugTools.TextOutput;
+import DebugTools.Log;
 import GxEngine3D.Helper.PlaneCalc;
 import GxEngine3D.Helper.VectorCalc;
 import GxEngine3D.Model.Plane;
@@ -10,6 +10,8 @@ import java.util.Iterator;
 
 public class AlgebraicMatrix extends Matrix{
 
+    private static final Log LOG = Log.get(AlgebraicMatrix.class);
+
     double epsilon = 1e-10;
 
     public enum SolutionType
@@ -65,14 +67,14 @@ public class AlgebraicMatrix extends Matrix{
             }
             col++;
         }while(col < m && col < n);
-        TextOutput.println("Swap", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Swap", 1);
+        LOG.println(this, 2);
     }
 
     public void gaussianElimination()
     {
-        TextOutput.println("Gaussian Elimination", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Gaussian Elimination", 1);
+        LOG.println(this, 2);
         //this may need to happen after every pivot
         swapOrdering();
         for (int i=0;i<m;i++)
@@ -83,7 +85,7 @@ public class AlgebraicMatrix extends Matrix{
                 if (matrix[i][ii] == 0) continue;//if 0 we skip
                 if (matrix[i][ii] != 1) //if 1 we dont need to change to 1
                 {
-                    TextOutput.println("Set to 1", 1);
+                    LOG.println("Set to 1", 1);
                     //turn it to a 1
                     double scale = 1d / matrix[i][ii];
                     matrix[i] = scale(i, scale);
@@ -131,8 +133,8 @@ public class AlgebraicMatrix extends Matrix{
             }
         }
         cullSmallValues();
-        TextOutput.println("GJ Cull", 1);
-        TextOutput.println(this, 2);
+        LOG.println("GJ Cull", 1);
+        LOG.println(this, 2);
     }
 
     public void determineSolution()
@@ -199,7 +201,7 @@ public class AlgebraicMatrix extends Matrix{
         }
         else
         {
-            TextOutput.println("Unknown solution type", 0);
+            LOG.println("Unknown solution type", 0);
             solutionType = SolutionType.UNDEFINED;
         }
     }
@@ -311,7 +313,7 @@ public class AlgebraicMatrix extends Matrix{
         {
             return solveViaBackSubstitution();
         }
-        TextOutput.println("Incorrect type Solution", 0);
+        LOG.println("Incorrect type Solution", 0);
         return null;
     }
 }
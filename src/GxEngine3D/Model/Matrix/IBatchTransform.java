@@ -0,0 +1,15 @@
+package GxEngine3D.Model.Matrix;
+
+//the batch loops of Mat4, for a version that can only be loaded on some runtimes
+//m is the matrix's row by row array, the rest are as Mat4's methods of the same name
+interface IBatchTransform {
+
+    //how many points each step does
+    int lanes();
+
+    void transformPoints(double[] m, double[] inX, double[] inY, double[] inZ,
+                         double[] outX, double[] outY, double[] outZ, int n);
+
+    void clipPoints(double[] m, double[] inX, double[] inY, double[] inZ,
+                    double[] outX, double[] outY, double[] outZ, double[] outW, int n);
+}
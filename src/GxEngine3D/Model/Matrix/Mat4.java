@@ -0,0 +1,216 @@
+package GxEngine3D.Model.Matrix;
+
+//4*4 matrix for the transform pipeline, stored row by row in a flat array
+//everything writes into an existing matrix or array so nothing is allocated once set up
+//the setup methods follow the same conventions as MatrixHelper
+public class Mat4 {
+
+    private final double[] m = new double[16];
+
+    //the vector api version of the batch loops, null when the runtime wasn't started with the module
+    private static final IBatchTransform VECTOR = loadVector();
+
+    private static IBatchTransform loadVector()
+    {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            //by name so this class never links against the module when it isn't there
+            return (IBatchTransform) Class.forName("GxEngine3D.Model.Matrix.VectorTransform")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    //how many points the batch methods do at a time, 1 when they are plain loops
+    public static int getBatchLanes()
+    {
+        return VECTOR == null ? 1 : VECTOR.lanes();
+    }
+
+    public Mat4()
+    {
+        setIdentity();
+    }
+
+    public Mat4(Mat4 other)
+    {
+        set(other);
+    }
+
+    public Mat4 set(Mat4 other)
+    {
+        System.arraycopy(other.m, 0, m, 0, 16);
+        return this;
+    }
+
+    public Mat4 set(int row, int col, double v)
+    {
+        m[row * 4 + col] = v;
+        return this;
+    }
+
+    public double get(int row, int col)
+    {
+        return m[row * 4 + col];
+    }
+
+    //the backing array, row major
+    public double[] getArray()
+    {
+        return m;
+    }
+
+    public Mat4 setZero()
+    {
+        for (int i = 0; i < 16; i++) {
+            m[i] = 0;
+        }
+        return this;
+    }
+
+    public Mat4 setIdentity()
+    {
+        setZero();
+        m[0] = m[5] = m[10] = m[15] = 1;
+        return this;
+    }
+
+    public Mat4 setTranslate(double x, double y, double z)
+    {
+        setIdentity();
+        m[3] = x;
+        m[7] = y;
+        m[11] = z;
+        return this;
+    }
+
+    public Mat4 setScale(double x, double y, double z)
+    {
+        setZero();
+        m[0] = x;
+        m[5] = y;
+        m[10] = z;
+        m[15] = 1;
+        return this;
+    }
+
+    public Mat4 setPitch(double pitch)
+    {
+        double cos = Math.cos(pitch), sin = Math.sin(pitch);
+        setIdentity();
+        m[5] = cos;
+        m[10] = cos;
+        m[9] = -sin;
+        m[6] = sin;
+        return this;
+    }
+
+    public Mat4 setYaw(double yaw)
+    {
+        double cos = Math.cos(yaw), sin = Math.sin(yaw);
+        setIdentity();
+        m[0] = cos;
+        m[10] = cos;
+        m[2] = sin;
+        m[8] = -sin;
+        return this;
+    }
+
+    public Mat4 setRoll(double roll)
+    {
+        double cos = Math.cos(roll), sin = Math.sin(roll);
+        setIdentity();
+        m[0] = cos;
+        m[5] = cos;
+        m[1] = -sin;
+        m[4] = sin;
+        return this;
+    }
+
+    //dest = a * b, dest may be either a or b
+    public static Mat4 multiply(Mat4 a, Mat4 b, Mat4 dest)
+    {
+        double[] l = a.m, r = b.m, d = dest.m;
+        //all of b is read up front so writing into it is safe, a is only read a row ahead of writing
+        double b00 = r[0], b01 = r[1], b02 = r[2], b03 = r[3];
+        double b10 = r[4], b11 = r[5], b12 = r[6], b13 = r[7];
+        double b20 = r[8], b21 = r[9], b22 = r[10], b23 = r[11];
+        double b30 = r[12], b31 = r[13], b32 = r[14], b33 = r[15];
+        for (int i = 0; i < 16; i += 4) {
+            double a0 = l[i], a1 = l[i + 1], a2 = l[i + 2], a3 = l[i + 3];
+            d[i] = a0 * b00 + a1 * b10 + a2 * b20 + a3 * b30;
+            d[i + 1] = a0 * b01 + a1 * b11 + a2 * b21 + a3 * b31;
+            d[i + 2] = a0 * b02 + a1 * b12 + a2 * b22 + a3 * b32;
+            d[i + 3] = a0 * b03 + a1 * b13 + a2 * b23 + a3 * b33;
+        }
+        return dest;
+    }
+
+    //writes x, y, z and w of the point into dest, assumes the point's w is 1
+    public double[] transform(double x, double y, double z, double[] dest)
+    {
+        dest[0] = x * m[0] + y * m[1] + z * m[2] + m[3];
+        dest[1] = x * m[4] + y * m[5] + z * m[6] + m[7];
+        dest[2] = x * m[8] + y * m[9] + z * m[10] + m[11];
+        dest[3] = x * m[12] + y * m[13] + z * m[14] + m[15];
+        return dest;
+    }
+
+    //transforms the first n points and divides by w, out may be the same arrays as in
+    public void transformPoints(double[] inX, double[] inY, double[] inZ,
+                                double[] outX, double[] outY, double[] outZ, int n)
+    {
+        if (VECTOR != null) {
+            VECTOR.transformPoints(m, inX, inY, inZ, outX, outY, outZ, n);
+            return;
+        }
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        double m30 = m[12], m31 = m[13], m32 = m[14], m33 = m[15];
+        for (int i = 0; i < n; i++) {
+            double x = inX[i], y = inY[i], z = inZ[i];
+            double w = x * m30 + y * m31 + z * m32 + m33;
+            outX[i] = (x * m00 + y * m01 + z * m02 + m03) / w;
+            outY[i] = (x * m10 + y * m11 + z * m12 + m13) / w;
+            outZ[i] = (x * m20 + y * m21 + z * m22 + m23) / w;
+        }
+    }
+
+    //as transformPoints but keeps w rather than dividing by it, which is what projection needs to clip
+    //without the vector api these are plain loops over the arrays with nothing but arithmetic so the jit can vectorise them
+    public void clipPoints(double[] inX, double[] inY, double[] inZ,
+                           double[] outX, double[] outY, double[] outZ, double[] outW, int n)
+    {
+        if (VECTOR != null) {
+            VECTOR.clipPoints(m, inX, inY, inZ, outX, outY, outZ, outW, n);
+            return;
+        }
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        double m30 = m[12], m31 = m[13], m32 = m[14], m33 = m[15];
+        for (int i = 0; i < n; i++) {
+            double x = inX[i], y = inY[i], z = inZ[i];
+            outX[i] = x * m00 + y * m01 + z * m02 + m03;
+            outY[i] = x * m10 + y * m11 + z * m12 + m13;
+            outZ[i] = x * m20 + y * m21 + z * m22 + m23;
+            outW[i] = x * m30 + y * m31 + z * m32 + m33;
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder s = new StringBuilder("\n");
+        for (int i = 0; i < 4; i++) {
+            for (int ii = 0; ii < 4; ii++) {
+                s.append(m[i * 4 + ii]).append(" ");
+            }
+            s.append("\n");
+        }
+        return s.toString();
+    }
+}
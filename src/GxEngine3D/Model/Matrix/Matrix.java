@@ -1,9 +1,11 @@
 package GxEngine3D.Model.Matrix;
 
-import DebugTools.TextOutput;
+import DebugTools.Log;
 
 public class Matrix {
 
+    private static final Log LOG = Log.get(Matrix.class);
+
     double[][] matrix;
     int m, n, curM = 0;
 
@@ -67,7 +69,9 @@ public class Matrix {
             }
             return result;
         }
-        TextOutput.println("Cannot Multiply Matrices: Matrix01 length(" + this.n+") does not eqaul Matrix02 height("+in[0].length +")");
+        if (LOG.isEnabled(0)) {
+            LOG.println("Cannot Multiply Matrices: Matrix01 length(" + this.n+") does not eqaul Matrix02 height("+in[0].length +")");
+        }
         return null;
     }
 
@@ -75,12 +79,14 @@ public class Matrix {
     {
         if (e.length > n)
         {
-            TextOutput.println("Eqaution in wrong format for this "+m+" by "+n+" matrix", 0);
+            if (LOG.isEnabled(0)) {
+                LOG.println("Eqaution in wrong format for this "+m+" by "+n+" matrix", 0);
+            }
         }
         else
         {
             if (curM > m) {
-                TextOutput.println("Exceeds matrix length", 0);
+                LOG.println("Exceeds matrix length", 0);
             }
             else
             {
@@ -97,8 +103,8 @@ public class Matrix {
         {
             newRow[i] = matrix[m][i] * v;
         }
-        TextOutput.println("Scale", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Scale", 1);
+        LOG.println(this, 2);
         return newRow;
     }
 
@@ -109,8 +115,8 @@ public class Matrix {
         {
             newRow[i] = matrix[m][i] * v[i];
         }
-        TextOutput.println("Multiply Matrix", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Multiply Matrix", 1);
+        LOG.println(this, 2);
         return newRow;
     }
 
@@ -121,8 +127,8 @@ public class Matrix {
         {
             newRow[i] = matrix[m][i] + v;
         }
-        TextOutput.println("Add Constant", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Add Constant", 1);
+        LOG.println(this, 2);
         return newRow;
     }
 
@@ -133,8 +139,8 @@ public class Matrix {
         {
             newRow[i] = matrix[m][i] + _matrix[i];
         }
-        TextOutput.println("Add AlgebraicMatrix", 1);
-        TextOutput.println(this, 2);
+        LOG.println("Add AlgebraicMatrix", 1);
+        LOG.println(this, 2);
         return newRow;
     }
 
@@ -176,4 +182,9 @@ public class Matrix {
     {
         return m;
     }
+
+    public double[][] getMatrix()
+    {
+        return matrix;
+    }
 }
@@ -0,0 +1,131 @@
+package GxEngine3D.Model.Matrix;
+
+//a transform kept as its parts, position, rotation as a unit quaternion, scale and the anchor it turns around
+//blending two poses part by part stays a rigid turn, blending their matrices element by element shrinks and shears
+public class Pose {
+
+    private final double[] position = new double[3], scale = new double[3], anchor = new double[3];
+    //w, x, y, z
+    private final double[] rotation = {1, 0, 0, 0};
+
+    //the parts of translation * rotation * scale * the move of anchor to the origin
+    //rotation must be a pure rotation and scale only scale along the axes
+    public Pose set(double x, double y, double z, Mat4 rotation, Mat4 scale, double[] anchor)
+    {
+        position[0] = x;
+        position[1] = y;
+        position[2] = z;
+        this.scale[0] = scale.get(0, 0);
+        this.scale[1] = scale.get(1, 1);
+        this.scale[2] = scale.get(2, 2);
+        System.arraycopy(anchor, 0, this.anchor, 0, 3);
+        toQuaternion(rotation, this.rotation);
+        return this;
+    }
+
+    public Pose set(Pose other)
+    {
+        System.arraycopy(other.position, 0, position, 0, 3);
+        System.arraycopy(other.scale, 0, scale, 0, 3);
+        System.arraycopy(other.anchor, 0, anchor, 0, 3);
+        System.arraycopy(other.rotation, 0, rotation, 0, 4);
+        return this;
+    }
+
+    //dest is a + (b - a) * t for everything but the rotation, which turns the shorter way from a to b
+    public static Pose interpolate(Pose a, Pose b, double t, Pose dest)
+    {
+        for (int i = 0; i < 3; i++) {
+            dest.position[i] = a.position[i] + (b.position[i] - a.position[i]) * t;
+            dest.scale[i] = a.scale[i] + (b.scale[i] - a.scale[i]) * t;
+            dest.anchor[i] = a.anchor[i] + (b.anchor[i] - a.anchor[i]) * t;
+        }
+        slerp(a.rotation, b.rotation, t, dest.rotation);
+        return dest;
+    }
+
+    //the same matrix BaseShape builds from its translation, rotation and scale, written straight into out
+    public Mat4 toMatrix(Mat4 out)
+    {
+        double[] q = rotation;
+        double w = q[0], x = q[1], y = q[2], z = q[3];
+        double r00 = 1 - 2 * (y * y + z * z), r01 = 2 * (x * y - z * w), r02 = 2 * (x * z + y * w);
+        double r10 = 2 * (x * y + z * w), r11 = 1 - 2 * (x * x + z * z), r12 = 2 * (y * z - x * w);
+        double r20 = 2 * (x * z - y * w), r21 = 2 * (y * z + x * w), r22 = 1 - 2 * (x * x + y * y);
+        double[] m = out.getArray();
+        double sx = scale[0], sy = scale[1], sz = scale[2];
+        double ax = anchor[0] * sx, ay = anchor[1] * sy, az = anchor[2] * sz;
+        m[0] = r00 * sx; m[1] = r01 * sy; m[2] = r02 * sz; m[3] = position[0] - (r00 * ax + r01 * ay + r02 * az);
+        m[4] = r10 * sx; m[5] = r11 * sy; m[6] = r12 * sz; m[7] = position[1] - (r10 * ax + r11 * ay + r12 * az);
+        m[8] = r20 * sx; m[9] = r21 * sy; m[10] = r22 * sz; m[11] = position[2] - (r20 * ax + r21 * ay + r22 * az);
+        m[12] = 0; m[13] = 0; m[14] = 0; m[15] = 1;
+        return out;
+    }
+
+    private static void toQuaternion(Mat4 r, double[] q)
+    {
+        double[] m = r.getArray();
+        double m00 = m[0], m01 = m[1], m02 = m[2];
+        double m10 = m[4], m11 = m[5], m12 = m[6];
+        double m20 = m[8], m21 = m[9], m22 = m[10];
+        double trace = m00 + m11 + m22;
+        //works from whichever term is largest so the square root is never of something near 0
+        if (trace > 0) {
+            double s = 2 * Math.sqrt(trace + 1);
+            q[0] = 0.25 * s;
+            q[1] = (m21 - m12) / s;
+            q[2] = (m02 - m20) / s;
+            q[3] = (m10 - m01) / s;
+        } else if (m00 > m11 && m00 > m22) {
+            double s = 2 * Math.sqrt(1 + m00 - m11 - m22);
+            q[0] = (m21 - m12) / s;
+            q[1] = 0.25 * s;
+            q[2] = (m01 + m10) / s;
+            q[3] = (m02 + m20) / s;
+        } else if (m11 > m22) {
+            double s = 2 * Math.sqrt(1 + m11 - m00 - m22);
+            q[0] = (m02 - m20) / s;
+            q[1] = (m01 + m10) / s;
+            q[2] = 0.25 * s;
+            q[3] = (m12 + m21) / s;
+        } else {
+            double s = 2 * Math.sqrt(1 + m22 - m00 - m11);
+            q[0] = (m10 - m01) / s;
+            q[1] = (m02 + m20) / s;
+            q[2] = (m12 + m21) / s;
+            q[3] = 0.25 * s;
+        }
+        normalise(q);
+    }
+
+    //dest may be a or b
+    private static void slerp(double[] a, double[] b, double t, double[] dest)
+    {
+        double dot = a[0] * b[0] + a[1] * b[1] + a[2] * b[2] + a[3] * b[3];
+        //q and -q are the same rotation, going towards the closer one takes the short way round
+        double sign = dot < 0 ? -1 : 1;
+        dot *= sign;
+        double wa, wb;
+        if (dot > 0.9995) {
+            //nearly the same rotation, a straight blend is as good and avoids dividing by sin of almost 0
+            wa = 1 - t;
+            wb = t * sign;
+        } else {
+            double angle = Math.acos(dot), sin = Math.sin(angle);
+            wa = Math.sin((1 - t) * angle) / sin;
+            wb = Math.sin(t * angle) / sin * sign;
+        }
+        for (int i = 0; i < 4; i++) {
+            dest[i] = a[i] * wa + b[i] * wb;
+        }
+        normalise(dest);
+    }
+
+    private static void normalise(double[] q)
+    {
+        double len = Math.sqrt(q[0] * q[0] + q[1] * q[1] + q[2] * q[2] + q[3] * q[3]);
+        for (int i = 0; i < 4; i++) {
+            q[i] /= len;
+        }
+    }
+}
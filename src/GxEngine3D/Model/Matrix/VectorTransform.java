@@ -0,0 +1,74 @@
+package GxEngine3D.Model.Matrix;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+//the batch loops written with the vector api, as many points at a time as the cpu's widest registers hold
+//needs --add-modules jdk.incubator.vector to compile and run, Mat4 only loads it when the module is there
+//the sums are done in the same order as the plain loops so both give exactly the same results
+class VectorTransform implements IBatchTransform {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public int lanes()
+    {
+        return SPECIES.length();
+    }
+
+    @Override
+    public void transformPoints(double[] m, double[] inX, double[] inY, double[] inZ,
+                                double[] outX, double[] outY, double[] outZ, int n)
+    {
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        double m30 = m[12], m31 = m[13], m32 = m[14], m33 = m[15];
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            //all loaded before anything is stored, as out may be the same arrays as in
+            DoubleVector x = DoubleVector.fromArray(SPECIES, inX, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, inY, i);
+            DoubleVector z = DoubleVector.fromArray(SPECIES, inZ, i);
+            DoubleVector w = x.mul(m30).add(y.mul(m31)).add(z.mul(m32)).add(m33);
+            x.mul(m00).add(y.mul(m01)).add(z.mul(m02)).add(m03).div(w).intoArray(outX, i);
+            x.mul(m10).add(y.mul(m11)).add(z.mul(m12)).add(m13).div(w).intoArray(outY, i);
+            x.mul(m20).add(y.mul(m21)).add(z.mul(m22)).add(m23).div(w).intoArray(outZ, i);
+        }
+        //whatever is left over doesn't fill a whole step
+        for (; i < n; i++) {
+            double x = inX[i], y = inY[i], z = inZ[i];
+            double w = x * m30 + y * m31 + z * m32 + m33;
+            outX[i] = (x * m00 + y * m01 + z * m02 + m03) / w;
+            outY[i] = (x * m10 + y * m11 + z * m12 + m13) / w;
+            outZ[i] = (x * m20 + y * m21 + z * m22 + m23) / w;
+        }
+    }
+
+    @Override
+    public void clipPoints(double[] m, double[] inX, double[] inY, double[] inZ,
+                           double[] outX, double[] outY, double[] outZ, double[] outW, int n)
+    {
+        double m00 = m[0], m01 = m[1], m02 = m[2], m03 = m[3];
+        double m10 = m[4], m11 = m[5], m12 = m[6], m13 = m[7];
+        double m20 = m[8], m21 = m[9], m22 = m[10], m23 = m[11];
+        double m30 = m[12], m31 = m[13], m32 = m[14], m33 = m[15];
+        int i = 0;
+        for (int bound = SPECIES.loopBound(n); i < bound; i += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, inX, i);
+            DoubleVector y = DoubleVector.fromArray(SPECIES, inY, i);
+            DoubleVector z = DoubleVector.fromArray(SPECIES, inZ, i);
+            x.mul(m00).add(y.mul(m01)).add(z.mul(m02)).add(m03).intoArray(outX, i);
+            x.mul(m10).add(y.mul(m11)).add(z.mul(m12)).add(m13).intoArray(outY, i);
+            x.mul(m20).add(y.mul(m21)).add(z.mul(m22)).add(m23).intoArray(outZ, i);
+            x.mul(m30).add(y.mul(m31)).add(z.mul(m32)).add(m33).intoArray(outW, i);
+        }
+        for (; i < n; i++) {
+            double x = inX[i], y = inY[i], z = inZ[i];
+            outX[i] = x * m00 + y * m01 + z * m02 + m03;
+            outY[i] = x * m10 + y * m11 + z * m12 + m13;
+            outZ[i] = x * m20 + y * m21 + z * m22 + m23;
+            outW[i] = x * m30 + y * m31 + z * m32 + m33;
+        }
+    }
+}
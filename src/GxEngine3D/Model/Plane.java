@@ -25,6 +25,23 @@ public class Plane {
 		}
 	}
 
+	//recalculates the plane from where the polygon's points are now, reusing its vectors and point so nothing is allocated
+	//gives the same plane as making a new one from the polygon
+	public void update(Polygon3D dp)
+	{
+		RefPoint3D[] p = dp.getShape();
+		point[0] = p[0].X();
+		point[1] = p[0].Y();
+		point[2] = p[0].Z();
+		if (p.length > 2 && v1 != null) {
+			v1.set(p[1].X() - p[0].X(), p[1].Y() - p[0].Y(), p[1].Z() - p[0].Z(), true);
+			v2.set(p[2].X() - p[0].X(), p[2].Y() - p[0].Y(), p[2].Z() - p[0].Z(), true);
+			double x = (v1.y * v2.z) - (v1.z * v2.y), y = (v1.z * v2.x) - (v1.x * v2.z), z = (v1.x * v2.y) - (v1.y * v2.x);
+			double scale = 1d / Math.sqrt(x * x + y * y + z * z);
+			normalVector.set(x * scale, y * scale, z * scale, true);
+		}
+	}
+
 	public Plane(Vector VE1, Vector VE2, double[] Z) {
 		setP(Z);
 
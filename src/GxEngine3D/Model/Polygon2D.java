@@ -8,17 +8,25 @@ import GxEngine3D.View.ViewHandler;
 import Shapes.BaseShape;
 
 public class Polygon2D {
+	private static final Color HIGHLIGHT = new Color(255, 255, 255, 100), OUTLINE = Color.BLACK;
+
 	Polygon P;
+	//ndc depth of each point, used by depth buffered rendering
+	//can be longer than the polygon, only the first npoints are used
+	double[] depth;
 	Color c;
 	boolean draw = true;
 	double lighting = 1;
+	//the shades of c, shared with every other polygon of the same colour
+	private Color[] ramp;
+	private Color rampColor;
 
 	private ViewHandler vHandler;
 
 	BaseShape belongsTo;
 	Polygon3D belongsToPoly;
 
-	private boolean hover = false;
+	boolean hover = false;
 
 	public Polygon2D(double[] x, double[] y, Color c,
 					 ViewHandler v, BaseShape bToShape, Polygon3D bToPoly) {
@@ -43,11 +51,60 @@ public class Polygon2D {
 	}
 
 	public void updatePolygon(double[] x, double[] y) {
-		P = new Polygon();
+		reserve(x.length);
 		for (int i=0;i<x.length;i++)
 		{
-			P.addPoint((int)x[i], (int)y[i]);
+			P.xpoints[i] = (int) x[i];
+			P.ypoints[i] = (int) y[i];
+		}
+		setCount(x.length);
+	}
+
+	public void updatePolygon(double[] x, double[] y, double[] z) {
+		updatePolygon(x, y);
+		System.arraycopy(z, 0, depth, 0, z.length);
+	}
+
+	//makes room for n points, the arrays are only replaced when they are too small
+	void reserve(int n)
+	{
+		if (P.xpoints.length < n) {
+			P.xpoints = new int[n];
+			P.ypoints = new int[n];
+		}
+		if (depth == null || depth.length < n) {
+			depth = new double[n];
+		}
+	}
+
+	//points are written straight into the arrays, reserve must have been called for at least i + 1 points
+	void setPoint(int i, double x, double y, double z)
+	{
+		P.xpoints[i] = (int) x;
+		P.ypoints[i] = (int) y;
+		depth[i] = z;
+	}
+
+	void setCount(int n)
+	{
+		P.npoints = n;
+		//the polygon caches its bounds which are now out of date
+		P.invalidate();
+	}
+
+	public double[] getDepth()
+	{
+		return depth;
+	}
+
+	public Color getShade()
+	{
+		//the ramp is only looked up again if the colour has changed
+		if (ramp == null || rampColor != c) {
+			ramp = ShadeCache.getRamp(c);
+			rampColor = c;
 		}
+		return ShadeCache.getShade(ramp, lighting);
 	}
 
 	public Polygon3D getBelongsToPolygon() {
@@ -55,16 +112,14 @@ public class Polygon2D {
 	}
 
 	public void drawPolygon(Graphics g) {
-		//to edit brightness directly convert to hsb
-		float[] temp = Color.RGBtoHSB(c.getRed(), c.getGreen(), c.getBlue(), new float[3]);
-		g.setColor(new Color(Color.HSBtoRGB(temp[0], temp[1], (float) lighting)));
+		g.setColor(getShade());
 		belongsTo.draw(g, P);
 		if (hover && vHandler.canHover()) {
-			g.setColor(new Color(255, 255, 255, 100));
+			g.setColor(HIGHLIGHT);
 			belongsTo.drawHighlight(g, P);
 		}
 		if (vHandler.hasOutlines()) {
-			g.setColor(new Color(0, 0, 0));
+			g.setColor(OUTLINE);
 			belongsTo.drawOutlines(g, P);
 		}
 		hover = false;
@@ -1,10 +1,12 @@
 package GxEngine3D.Model;
 
 import java.awt.Color;
+import java.util.Arrays;
+
+import GxEngine3D.Helper.ClipCalc;
 import GxEngine3D.Helper.DistanceCalc;
 import GxEngine3D.Camera.Camera;
 import GxEngine3D.Lighting.Light;
-import GxEngine3D.Model.Matrix.Matrix;
 import GxEngine3D.View.ViewHandler;
 import Shapes.BaseShape;
 
@@ -14,6 +16,21 @@ public class Polygon3D {
 	boolean draw = true;
 
 	BaseShape belongsTo;
+	//position within the scene's list of drawn polygons
+	int index = -1;
+	//unnormalised normal, only recalculated when the shape it belongs to has moved
+	private double[] normal = new double[3];
+	private int normalVersion = -1;
+	private Plane lightingPlane;
+	private int lightingVersion = -1;
+	//reused every frame, only remade if the number of points changes
+	private double[][] clipScratch;
+	//only made for polygons that have needed clipping
+	private ClipCalc.Buffer clipBuffer;
+	//the lighting plane's point, kept so moving doesn't allocate
+	private double[] centre = new double[3];
+	private ViewHandler[] views = new ViewHandler[0];
+	private Polygon2D[] screen = new Polygon2D[0];
 	
 	public Polygon3D(RefPoint3D[] shape, Color c, BaseShape bTo) {
 		this.shape = shape;
@@ -21,53 +38,173 @@ public class Polygon3D {
 		belongsTo = bTo;
 	}
 
+	//how far outside the screen the sides are clipped, points between the screen and the guard band are left for graphics to clip
+	//keeps clipping rare while stopping far off points overflowing when converted to ints
+	private static final double GUARD_BAND = 16;
+
 	//NOTE: around 10% total usage comes from here
+	//the returned polygon is reused, every other frame for the same view, so it shouldn't be kept
 	public Polygon2D updatePolygon(Camera c, Light l, ViewHandler vHandler) {
 		RefPoint3D[] shp = getShape();
+		int n = shp.length;
 		draw = false;
 
-		Polygon2D screenPoly = new Polygon2D(new double[shp.length],
-				new double[shp.length], this.c, vHandler,
-				belongsTo, this);
-
-		Matrix projectionMatrix = new Matrix(vHandler.getProjectionMatrix().matrixMultiply(c.getMatrix()));
+		Polygon2D screenPoly = getScreenPolygon(vHandler);
+		screenPoly.c = this.c;
+		screenPoly.hover = false;
 
-		double[] newX = new double[shp.length];
-		double[] newY = new double[shp.length];
+		double[] m = vHandler.getViewProjection().getArray();
+		long projection = vHandler.getProjectionId();
 
-		for (int i = 0; i < shp.length; i++) {
-			double[] p = shp[i].toArray();
-			p = projectionMatrix.pointMultiply(p);
-			//NOTE: current theory is that the projection plane sided value should be unsigned when converting to cartesian coordinates, otherwise they wrap around
-			double absP = Math.abs(p[3]);
-			p = new double[]{
-					p[0] / absP,
-					p[1] / absP,
-					p[2] / absP,
-			};
+		//points in clip space, before the divide by w
+		if (clipScratch == null || clipScratch[0].length != n) {
+			clipScratch = new double[4][n];
+		}
+		double[][] clip = clipScratch;
+		//which frustum planes every point is outside of, and which planes any point is outside of the guard band for
+		int outsideAll = ~0, clipPlanes = 0;
 
-			if (p[0] >= -1 && p[0] <= 1 && p[1] >= -1 && p[1] <= 1 && p[2] >= -1 && p[2] <= 1)
+		for (int i = 0; i < n; i++) {
+			RefPoint3D point = shp[i];
+			VertexBuffer buffer = point.getBuffer();
+			int index = point.getIndex();
+			double pX, pY, pZ, pW;
+			if (buffer != null && buffer.isProjected(projection))
+			{
+				//the whole shape was already projected in one go
+				pX = buffer.clipX[index];
+				pY = buffer.clipY[index];
+				pZ = buffer.clipZ[index];
+				pW = buffer.clipW[index];
+			}
+			else
 			{
-				//if any point is within the frustum then draw the whole polygon and let graphics clip for us
-				draw = true;
+				double x = point.X(), y = point.Y(), z = point.Z();
+				pX = x * m[0] + y * m[1] + z * m[2] + m[3];
+				pY = x * m[4] + y * m[5] + z * m[6] + m[7];
+				pZ = x * m[8] + y * m[9] + z * m[10] + m[11];
+				pW = x * m[12] + y * m[13] + z * m[14] + m[15];
+			}
+			clip[0][i] = pX;
+			clip[1][i] = pY;
+			clip[2][i] = pZ;
+			clip[3][i] = pW;
+			outsideAll &= ClipCalc.outcode(pX, pY, pZ, pW, 1);
+			clipPlanes |= ClipCalc.outcode(pX, pY, pZ, pW, GUARD_BAND);
+		}
+
+		screenPoly.draw = false;
+		if (outsideAll != 0) {
+			//every point is outside the same plane so none of it can be seen
+			return screenPoly;
+		}
+		//the far plane isn't clipped so distant polygons are still drawn whole, as before
+		clipPlanes &= ~ClipCalc.FAR;
+		int count = n;
+		if (clipPlanes != 0 && n >= 2) {
+			//only the few polygons crossing the edge of the guard band get here, their buffer is kept for next time
+			if (clipBuffer == null) {
+				clipBuffer = new ClipCalc.Buffer();
 			}
-			//translates range(-1, 1) into (0, 1)
-			newX[i] = ((p[0] + 1) * 0.5 * vHandler.getView().getWidth());
-			newY[i] = (1 - (p[1] + 1) * 0.5) * vHandler.getView().getHeight();
+			if (n == 2) {
+				ClipCalc.clipLine(clip, clipPlanes, GUARD_BAND, clipBuffer);
+			} else {
+				ClipCalc.clipPolygon(clip, n, clipPlanes, GUARD_BAND, clipBuffer);
+			}
+			clip = clipBuffer.getPoints();
+			count = clipBuffer.getCount();
 		}
+		draw = count > 0 && count >= Math.min(n, 3);
 
 		screenPoly.draw = draw;
 		if (draw) {
-			Plane lPlane = new Plane(this);
-			//centre being calculated at object init won't work as the shape would not have been translated yet
-			lPlane.setP(findCentre());
-			screenPoly.lighting = belongsTo.getLighting().doLighting(l, lPlane, c);
-			screenPoly.updatePolygon(newX, newY);
+			double width = vHandler.getView().getWidth(), height = vHandler.getView().getHeight();
+			screenPoly.reserve(count);
+			for (int i = 0; i < count; i++) {
+				//after clipping against the near plane w is always positive
+				double w = clip[3][i];
+				//translates range(-1, 1) into (0, 1)
+				//z is kept in ndc range for depth testing
+				screenPoly.setPoint(i,
+						(clip[0][i] / w + 1) * 0.5 * width,
+						(1 - (clip[1][i] / w + 1) * 0.5) * height,
+						clip[2][i] / w);
+			}
+			screenPoly.setCount(count);
+			screenPoly.lighting = belongsTo.getLighting().doLighting(l, getLightingPlane(), c);
 		}
 		return screenPoly;
 	}
 
+	//two per view, one is filled in while the other from the frame before may still be being drawn
+	private Polygon2D getScreenPolygon(ViewHandler vHandler) {
+		int slot = vHandler.getFrame() & 1;
+		for (int i = 0; i < views.length; i++) {
+			if (views[i] == vHandler) {
+				return screen[i * 2 + slot];
+			}
+		}
+		int i = views.length;
+		views = Arrays.copyOf(views, i + 1);
+		screen = Arrays.copyOf(screen, (i + 1) * 2);
+		views[i] = vHandler;
+		screen[i * 2] = new Polygon2D(new double[0], new double[0], c, vHandler, belongsTo, this);
+		screen[i * 2 + 1] = new Polygon2D(new double[0], new double[0], c, vHandler, belongsTo, this);
+		return screen[i * 2 + slot];
+	}
+
+	//the plane through the centre that lighting is worked out from, only rebuilt when the shape has moved
+	private Plane getLightingPlane() {
+		int version = belongsTo.getTransformVersion();
+		if (lightingPlane == null || version != lightingVersion) {
+			if (lightingPlane == null) {
+				lightingPlane = new Plane(this);
+			} else {
+				lightingPlane.update(this);
+			}
+			//centre being calculated at object init won't work as the shape would not have been translated yet
+			lightingPlane.setP(findCentre(centre));
+			lightingVersion = version;
+		}
+		return lightingPlane;
+	}
+
+	//whether the front of the polygon can be seen from the given position
+	//lines, points and polygons without a shape have no front so are always facing
+	public boolean isFacing(double[] from) {
+		RefPoint3D[] shp = getShape();
+		if (shp.length < 3 || belongsTo == null) {
+			return true;
+		}
+		int version = belongsTo.getTransformVersion();
+		if (version != normalVersion) {
+			updateNormal();
+			normalVersion = version;
+		}
+		RefPoint3D p = shp[0];
+		return normal[0] * (from[0] - p.X()) + normal[1] * (from[1] - p.Y()) + normal[2] * (from[2] - p.Z()) > 0;
+	}
+
+	//newell's method, points the same way as the cross product of the first two edges
+	private void updateNormal() {
+		double nx = 0, ny = 0, nz = 0;
+		for (int i = 0; i < shape.length; i++) {
+			RefPoint3D a = shape[i], b = shape[(i + 1) % shape.length];
+			nx += (a.Y() - b.Y()) * (a.Z() + b.Z());
+			ny += (a.Z() - b.Z()) * (a.X() + b.X());
+			nz += (a.X() - b.X()) * (a.Y() + b.Y());
+		}
+		normal[0] = nx;
+		normal[1] = ny;
+		normal[2] = nz;
+	}
+
 	public double[] findCentre() {
+		return findCentre(new double[3]);
+	}
+
+	//writes the centre into out and returns it
+	public double[] findCentre(double[] out) {
 		double avX = 0, avY = 0, avZ = 0;
 		for (RefPoint3D p : shape) {
 			avX += p.X();
@@ -78,17 +215,19 @@ public class Polygon3D {
 		avX /= shape.length;
 		avY /= shape.length;
 		avZ /= shape.length;
-		return new double[]{avX, avY, avZ};
+		out[0] = avX;
+		out[1] = avY;
+		out[2] = avZ;
+		return out;
 	}
 
 
 	public double getDist(double[] from) {
 		double total = 0;
-		for (int i = 0; i < getShape().length; i++) {
-			// System.out.println(GetDistanceToP(i));
-			total += DistanceCalc.getDistance(from, getShape()[i].toArray());
+		for (RefPoint3D p : shape) {
+			total += DistanceCalc.getDistance(from, p.X(), p.Y(), p.Z());
 		}
-		return total / getShape().length;
+		return total / shape.length;
 	}
 
 	public Polygon3D[] splitAlong(SplittingPackage[] pack)
@@ -153,6 +292,18 @@ public class Polygon3D {
 		return belongsTo;
 	}
 
+	public Color getColor() {
+		return c;
+	}
+
+	public int getIndex() {
+		return index;
+	}
+
+	public void setIndex(int i) {
+		index = i;
+	}
+
 	public boolean canDraw()
 	{
 		return draw;
@@ -2,66 +2,93 @@ package GxEngine3D.Model;
 
 import java.math.BigDecimal;
 
+//a view onto one point of a VertexBuffer
+//points made on their own, like split points, keep their coordinates in fields and have no buffer
 public class RefPoint3D {
 
+	private VertexBuffer buffer;
+	private int index;
 	private double x, y, z;
 	
 	public RefPoint3D(double x, double y, double z)
 	{
-		setX(x);
-		setY(y);
-		setZ(z);
+		this.x = x;
+		this.y = y;
+		this.z = z;
 	}
 	public RefPoint3D(double[] arr)
 	{
 		if (arr.length == 3)
 		{
-			setX(arr[0]);
-			setY(arr[1]);
-			setZ(arr[2]);
+			setArray(arr);
 		}
 	}
+	public RefPoint3D(VertexBuffer buffer, int index)
+	{
+		this.buffer = buffer;
+		this.index = index;
+	}
 	public double X()
 	{
-		return x;
+		return buffer == null ? x : buffer.x[index];
 	}
 	public double Y()
 	{
-		return y;
+		return buffer == null ? y : buffer.y[index];
 	}
 	
 	public double Z()
 	{
-		return z;
+		return buffer == null ? z : buffer.z[index];
 	}
 	
 	public void setX(double x)
 	{
-		this.x = x;
+		if (buffer == null) this.x = x;
+		else buffer.x[index] = x;
 	}
 	public void setY(double y)
 	{
-		this.y = y;
+		if (buffer == null) this.y = y;
+		else buffer.y[index] = y;
 	}
 	public void setZ(double z)
 	{
-		this.z = z;
+		if (buffer == null) this.z = z;
+		else buffer.z[index] = z;
 	}
 	public void setArray(double[] arr)
 	{
-		setX(arr[0]);
-		setY(arr[1]);
-		setZ(arr[2]);
+		if (buffer == null)
+		{
+			x = arr[0];
+			y = arr[1];
+			z = arr[2];
+		}
+		else
+		{
+			buffer.set(index, arr[0], arr[1], arr[2]);
+		}
+	}
+
+	//null for a point made on its own
+	public VertexBuffer getBuffer()
+	{
+		return buffer;
+	}
+	public int getIndex()
+	{
+		return index;
 	}
 	
 	public double[] toArray()
 	{
-		return new double[]{x, y, z};
+		return new double[]{X(), Y(), Z()};
 	}
 	
 	@Override
 	public String toString() {
-		return "{"+x+", "+y+", "+z+"}";
+		return "{"+X()+", "+Y()+", "+Z()+"}";
 	}
 
 	public static double round(double unrounded, int precision)
@@ -0,0 +1,49 @@
+package GxEngine3D.Model;
+
+import java.awt.Color;
+import java.util.HashMap;
+
+//the shades of each colour at every lighting level, worked out once and shared by every polygon and view
+//lighting is rounded to one of LEVELS steps, the same precision a colour channel has
+public class ShadeCache {
+
+	private static final int LEVELS = 256;
+
+	//keyed on the packed argb of the base colour
+	private static final HashMap<Integer, Color[]> ramps = new HashMap<>();
+
+	//every shade of the colour from dark to full brightness, polygons keep hold of this so they don't have to look it up again
+	public static Color[] getRamp(Color base)
+	{
+		synchronized (ramps) {
+			Color[] ramp = ramps.get(base.getRGB());
+			if (ramp == null) {
+				ramp = new Color[LEVELS];
+				//to edit brightness directly convert to hsb
+				float[] hsb = Color.RGBtoHSB(base.getRed(), base.getGreen(), base.getBlue(), new float[3]);
+				for (int i = 0; i < LEVELS; i++) {
+					ramp[i] = new Color(Color.HSBtoRGB(hsb[0], hsb[1], (float) i / (LEVELS - 1)));
+				}
+				ramps.put(base.getRGB(), ramp);
+			}
+			return ramp;
+		}
+	}
+
+	public static Color getShade(Color[] ramp, double lighting)
+	{
+		return ramp[level(lighting)];
+	}
+
+	public static Color getShade(Color base, double lighting)
+	{
+		return getShade(getRamp(base), lighting);
+	}
+
+	private static int level(double lighting)
+	{
+		//NaN ends up as 0, the same as HSBtoRGB treats it
+		int level = (int) (lighting * (LEVELS - 1) + 0.5);
+		return Math.max(0, Math.min(LEVELS - 1, level));
+	}
+}
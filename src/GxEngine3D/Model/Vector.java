@@ -18,6 +18,11 @@ public class Vector {
 		norm(v[0], v[1], v[2], n);
 	}
 	
+	//changes the vector in place, for planes that are recalculated often
+	void set(double x, double y, double z, boolean normalise) {
+		norm(x, y, z, normalise);
+	}
+
 	private void norm(double x, double y, double z, boolean normalise) {
 		len = Math.sqrt((x * x) + (y * y) + (z * z));
 
@@ -0,0 +1,105 @@
+package GxEngine3D.Model;
+
+import GxEngine3D.Model.Matrix.Mat4;
+
+import java.util.Arrays;
+
+//points stored as separate x, y and z arrays rather than one object per point
+//loops over a whole buffer touch contiguous memory and need no allocation
+//NOTE: the arrays are replaced when the buffer grows so don't hold on to them across adds
+public class VertexBuffer {
+
+	double[] x, y, z;
+	int size = 0;
+
+	//buffers that are never projected all point at this instead of four empty arrays of their own
+	private static final double[] EMPTY = new double[0];
+
+	//the points in clip space, only valid for the projection that produced them
+	double[] clipX = EMPTY, clipY = EMPTY, clipZ = EMPTY, clipW = EMPTY;
+	long projection = -1;
+
+	public VertexBuffer(int capacity)
+	{
+		capacity = Math.max(capacity, 1);
+		x = new double[capacity];
+		y = new double[capacity];
+		z = new double[capacity];
+	}
+
+	//returns the index of the new point
+	public int add(double x, double y, double z)
+	{
+		if (size == this.x.length)
+		{
+			int capacity = size * 2;
+			this.x = Arrays.copyOf(this.x, capacity);
+			this.y = Arrays.copyOf(this.y, capacity);
+			this.z = Arrays.copyOf(this.z, capacity);
+		}
+		set(size, x, y, z);
+		return size++;
+	}
+
+	public void set(int i, double x, double y, double z)
+	{
+		this.x[i] = x;
+		this.y[i] = y;
+		this.z[i] = z;
+	}
+
+	public double X(int i)
+	{
+		return x[i];
+	}
+	public double Y(int i)
+	{
+		return y[i];
+	}
+	public double Z(int i)
+	{
+		return z[i];
+	}
+
+	public double[] getX()
+	{
+		return x;
+	}
+	public double[] getY()
+	{
+		return y;
+	}
+	public double[] getZ()
+	{
+		return z;
+	}
+
+	//projects every point at once, polygons using these points then only need to look them up
+	public void project(Mat4 m, long projection)
+	{
+		if (clipX.length < size)
+		{
+			clipX = new double[x.length];
+			clipY = new double[x.length];
+			clipZ = new double[x.length];
+			clipW = new double[x.length];
+		}
+		m.clipPoints(x, y, z, clipX, clipY, clipZ, clipW, size);
+		this.projection = projection;
+	}
+
+	public boolean isProjected(long projection)
+	{
+		return this.projection == projection;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public void clear()
+	{
+		size = 0;
+	}
+}
@@ -0,0 +1,284 @@
+package GxEngine3D.Ordering;
+
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//binary space partition over a fixed set of polygons
+//polygons crossing a partition are split so every polygon lies entirely on one side of each plane above it
+//built once, then walked from any position to get a back to front order
+public class BSPTree {
+
+    private static final double EPSILON = 1e-7;
+    //how many splitters are tried per node and how many polygons they are scored against
+    private static final int CANDIDATES = 5, SAMPLES = 100;
+
+    private enum Side
+    {
+        FRONT,
+        BACK,
+        COPLANAR,
+        BOTH
+    }
+
+    //per node: plane as nx, ny, nz, d where n.p + d = 0
+    private double[] planes = new double[64];
+    private int[] front = new int[16], back = new int[16];
+    //range of the node's coplanar polygons within the polygons array
+    private int[] start = new int[16], count = new int[16];
+    private int nodes = 0;
+
+    private Polygon3D[] polygons = new Polygon3D[16];
+    private int size = 0;
+
+    private int[] stack;
+
+    public BSPTree(List<Polygon3D> source)
+    {
+        if (source.isEmpty()) return;
+        ArrayList<Integer> pendingNodes = new ArrayList<>();
+        ArrayList<List<Polygon3D>> pendingPolys = new ArrayList<>();
+        pendingNodes.add(newNode());
+        pendingPolys.add(source);
+        while (!pendingNodes.isEmpty())
+        {
+            int node = pendingNodes.remove(pendingNodes.size() - 1);
+            List<Polygon3D> polys = pendingPolys.remove(pendingPolys.size() - 1);
+            List<Polygon3D> f = new ArrayList<>(), b = new ArrayList<>();
+            build(node, polys, f, b);
+            if (!f.isEmpty()) {
+                int child = newNode();
+                front[node] = child;
+                pendingNodes.add(child);
+                pendingPolys.add(f);
+            }
+            if (!b.isEmpty()) {
+                int child = newNode();
+                back[node] = child;
+                pendingNodes.add(child);
+                pendingPolys.add(b);
+            }
+        }
+        stack = new int[nodes * 2 + 1];
+    }
+
+    private void build(int node, List<Polygon3D> polys, List<Polygon3D> f, List<Polygon3D> b)
+    {
+        double[] plane = chooseSplitter(polys);
+        start[node] = size;
+        if (plane == null) {
+            //nothing here can partition (lines and points) so they are simply kept together
+            for (Polygon3D p : polys) {
+                addPolygon(p);
+            }
+            count[node] = polys.size();
+            return;
+        }
+        System.arraycopy(plane, 0, planes, node * 4, 4);
+        ArrayList<Polygon3D> coplanar = new ArrayList<>();
+        for (Polygon3D p : polys) {
+            switch (classify(p, plane)) {
+                case COPLANAR:
+                    coplanar.add(p);
+                    break;
+                case FRONT:
+                    f.add(p);
+                    break;
+                case BACK:
+                    b.add(p);
+                    break;
+                case BOTH:
+                    split(p, plane, f, b);
+                    break;
+            }
+        }
+        for (Polygon3D p : coplanar) {
+            addPolygon(p);
+        }
+        count[node] = coplanar.size();
+    }
+
+    private double[] chooseSplitter(List<Polygon3D> polys)
+    {
+        double[] best = null;
+        int bestScore = Integer.MAX_VALUE;
+        int step = Math.max(1, polys.size() / CANDIDATES);
+        int sampleStep = Math.max(1, polys.size() / SAMPLES);
+        for (int i = 0; i < polys.size(); i += step) {
+            double[] plane = planeOf(polys.get(i));
+            if (plane == null) continue;
+            //prefer planes that split little and divide evenly
+            int splits = 0, balance = 0;
+            for (int ii = 0; ii < polys.size(); ii += sampleStep) {
+                Side side = classify(polys.get(ii), plane);
+                if (side == Side.BOTH) splits++;
+                else if (side == Side.FRONT) balance++;
+                else if (side == Side.BACK) balance--;
+            }
+            int score = splits * 8 + Math.abs(balance);
+            if (score < bestScore) {
+                bestScore = score;
+                best = plane;
+            }
+        }
+        if (best == null) {
+            //the sampled candidates were all degenerate, check everything before giving up
+            for (Polygon3D p : polys) {
+                best = planeOf(p);
+                if (best != null) break;
+            }
+        }
+        return best;
+    }
+
+    //newell's method, works for any planar polygon regardless of which points are collinear
+    private static double[] planeOf(Polygon3D poly)
+    {
+        RefPoint3D[] shape = poly.getShape();
+        if (shape.length < 3) return null;
+        double nx = 0, ny = 0, nz = 0, cx = 0, cy = 0, cz = 0;
+        for (int i = 0; i < shape.length; i++) {
+            RefPoint3D a = shape[i], b = shape[(i + 1) % shape.length];
+            nx += (a.Y() - b.Y()) * (a.Z() + b.Z());
+            ny += (a.Z() - b.Z()) * (a.X() + b.X());
+            nz += (a.X() - b.X()) * (a.Y() + b.Y());
+            cx += a.X();
+            cy += a.Y();
+            cz += a.Z();
+        }
+        double len = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (len < EPSILON) return null;
+        nx /= len;
+        ny /= len;
+        nz /= len;
+        double n = shape.length;
+        return new double[]{nx, ny, nz, -(nx * cx + ny * cy + nz * cz) / n};
+    }
+
+    private static double distance(RefPoint3D p, double[] plane)
+    {
+        return plane[0] * p.X() + plane[1] * p.Y() + plane[2] * p.Z() + plane[3];
+    }
+
+    private static Side classify(Polygon3D poly, double[] plane)
+    {
+        int pos = 0, neg = 0;
+        RefPoint3D[] shape = poly.getShape();
+        for (RefPoint3D p : shape) {
+            double d = distance(p, plane);
+            if (d > EPSILON) pos++;
+            else if (d < -EPSILON) neg++;
+        }
+        if (pos > 0 && neg > 0) {
+            //lines and points can't be split usefully so go wherever most of them are
+            if (shape.length < 3) return pos >= neg ? Side.FRONT : Side.BACK;
+            return Side.BOTH;
+        }
+        if (pos > 0) return Side.FRONT;
+        if (neg > 0) return Side.BACK;
+        return Side.COPLANAR;
+    }
+
+    //sutherland-hodgman against a single plane, keeps the original winding for both halves
+    private static void split(Polygon3D poly, double[] plane, List<Polygon3D> f, List<Polygon3D> b)
+    {
+        RefPoint3D[] shape = poly.getShape();
+        ArrayList<RefPoint3D> fPoints = new ArrayList<>(), bPoints = new ArrayList<>();
+        int i, j;
+        for (i = 0, j = shape.length - 1; i < shape.length; j = i++) {
+            RefPoint3D a = shape[j], c = shape[i];
+            double da = distance(a, plane), dc = distance(c, plane);
+            if ((da > EPSILON && dc < -EPSILON) || (da < -EPSILON && dc > EPSILON)) {
+                double t = da / (da - dc);
+                RefPoint3D isect = new RefPoint3D(
+                        a.X() + (c.X() - a.X()) * t,
+                        a.Y() + (c.Y() - a.Y()) * t,
+                        a.Z() + (c.Z() - a.Z()) * t);
+                fPoints.add(isect);
+                bPoints.add(isect);
+            }
+            if (dc > EPSILON) {
+                fPoints.add(c);
+            } else if (dc < -EPSILON) {
+                bPoints.add(c);
+            } else {
+                fPoints.add(c);
+                bPoints.add(c);
+            }
+        }
+        if (fPoints.size() >= 3) {
+            f.add(new Polygon3D(fPoints.toArray(new RefPoint3D[fPoints.size()]), poly.getColor(), poly.getBelongsTo()));
+        }
+        if (bPoints.size() >= 3) {
+            b.add(new Polygon3D(bPoints.toArray(new RefPoint3D[bPoints.size()]), poly.getColor(), poly.getBelongsTo()));
+        }
+    }
+
+    private int newNode()
+    {
+        if (nodes == front.length) {
+            int length = nodes * 2;
+            planes = Arrays.copyOf(planes, length * 4);
+            front = Arrays.copyOf(front, length);
+            back = Arrays.copyOf(back, length);
+            start = Arrays.copyOf(start, length);
+            count = Arrays.copyOf(count, length);
+        }
+        front[nodes] = -1;
+        back[nodes] = -1;
+        return nodes++;
+    }
+
+    private void addPolygon(Polygon3D p)
+    {
+        if (size == polygons.length) {
+            polygons = Arrays.copyOf(polygons, size * 2);
+        }
+        polygons[size++] = p;
+    }
+
+    //every polygon in the tree, fragments included, positions match those used by order
+    public List<Polygon3D> getPolygons()
+    {
+        return new ArrayList<>(Arrays.asList(polygons).subList(0, size));
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    //walks the tree from the given position writing lookup[position] for every polygon furthest first
+    //polygons with a negative lookup are skipped, returns how many were written
+    public int order(double[] from, int[] lookup, int[] out)
+    {
+        if (nodes == 0) return 0;
+        int written = 0, top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (node < 0) {
+                //a marker to emit the node's own polygons between its children
+                node = ~node;
+                for (int i = start[node], end = start[node] + count[node]; i < end; i++) {
+                    if (lookup[i] >= 0) {
+                        out[written++] = lookup[i];
+                    }
+                }
+                continue;
+            }
+            int p = node * 4;
+            double side = planes[p] * from[0] + planes[p + 1] * from[1] + planes[p + 2] * from[2] + planes[p + 3];
+            int near = side > 0 ? front[node] : back[node];
+            int far = side > 0 ? back[node] : front[node];
+            //pushed in reverse so the far side is drawn first
+            if (near >= 0) stack[top++] = near;
+            stack[top++] = ~node;
+            if (far >= 0) stack[top++] = far;
+        }
+        return written;
+    }
+}
@@ -1,50 +1,98 @@
 package GxEngine3D.Ordering;
 
-import java.util.ArrayList;
+import GxEngine3D.Model.Polygon3D;
+
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Created by Dean on 31/12/16.
  */
 public abstract class BaseOrdering implements IOrderStrategy {
-    //technically doesn't need to be great as it does not work
-    //only exists for historical reasons
-    //NOTE: uses around 42%
-    protected List<Integer> sortIndex(double[] k) {
-        int[] newOrder = new int[k.length];
-
-        for (int i = 0; i < k.length; i++) {
-            newOrder[i] = i;
-        }
-        ArrayList<Integer> order = new ArrayList<>();
-        for (int i:sortIndex(k, newOrder))
-        {
-            order.add(i);
+    //keys are sorted as floats a byte at a time
+    private static final int RADIX_BITS = 8, RADIX = 1 << RADIX_BITS, MASK = RADIX - 1;
+    //below this the fixed cost of the radix passes isn't worth it
+    private static final int INSERTION_LIMIT = 64;
+
+    //scratch space is kept between frames so sorting doesn't allocate once warmed up
+    private int[] keys = new int[0], tmpKeys = new int[0], tmpOrder = new int[0];
+    private final int[] counts = new int[RADIX];
+
+    //most orderings work from scratch every time so have nothing to prepare
+    @Override
+    public List<Polygon3D> partition(List<Polygon3D> polygons) {
+        return polygons;
+    }
+
+    protected static int[] ensureCapacity(int[] order, int n) {
+        if (order == null) return new int[n];
+        if (order.length < n) {
+            return new int[Math.max(n, order.length + (order.length >> 1))];
         }
         return order;
     }
 
-    // gives a new indice order for k without sorting k - faster
-    protected int[] sortIndex(double[] k, int[] order) {
-        double temp;
-        int tempr;
-        boolean sorted = false;
-        while (!sorted) {
-            sorted = true;
-            for (int b = 0; b < k.length - 1; b++) {
-                if (k[b] < k[b + 1]) {
-                    sorted = false;
-                    temp = k[b];
-                    tempr = order[b];
-                    order[b] = order[b + 1];
-                    k[b] = k[b + 1];
-
-                    order[b + 1] = tempr;
-                    k[b + 1] = temp;
-                    break;
-                }
+    //gives a new indice order for k without sorting k, largest first with ties keeping their original order
+    //O(n) radix sort, float precision is plenty for ordering polygons
+    protected void sortDescending(double[] k, int n, int[] order) {
+        if (keys.length < n) {
+            keys = new int[n];
+            tmpKeys = new int[n];
+            tmpOrder = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            keys[i] = descendingKey((float) k[i]);
+            order[i] = i;
+        }
+        if (n <= INSERTION_LIMIT) {
+            insertionSort(keys, order, n);
+            return;
+        }
+        int[] srcKeys = keys, srcOrder = order, dstKeys = tmpKeys, dstOrder = tmpOrder;
+        for (int shift = 0; shift < 32; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) {
+                counts[(srcKeys[i] >>> shift) & MASK]++;
+            }
+            //every key has the same byte here so this pass wouldn't move anything
+            if (counts[(srcKeys[0] >>> shift) & MASK] == n) continue;
+            int total = 0;
+            for (int i = 0; i < RADIX; i++) {
+                int c = counts[i];
+                counts[i] = total;
+                total += c;
             }
+            for (int i = 0; i < n; i++) {
+                int pos = counts[(srcKeys[i] >>> shift) & MASK]++;
+                dstKeys[pos] = srcKeys[i];
+                dstOrder[pos] = srcOrder[i];
+            }
+            int[] t = srcKeys; srcKeys = dstKeys; dstKeys = t;
+            t = srcOrder; srcOrder = dstOrder; dstOrder = t;
         }
-        return order;
+        if (srcOrder != order) {
+            System.arraycopy(srcOrder, 0, order, 0, n);
+        }
+    }
+
+    private static void insertionSort(int[] keys, int[] order, int n) {
+        for (int i = 1; i < n; i++) {
+            int key = keys[i], index = order[i];
+            int j = i - 1;
+            while (j >= 0 && Integer.compareUnsigned(keys[j], key) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = index;
+        }
+    }
+
+    //maps a float to an int with the same order when compared unsigned, then flips it so the largest comes first
+    private static int descendingKey(float f) {
+        int bits = Float.floatToIntBits(f);
+        bits ^= (bits >> 31) | 0x80000000;
+        return ~bits;
     }
 }
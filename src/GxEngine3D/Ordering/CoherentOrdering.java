@@ -0,0 +1,115 @@
+package GxEngine3D.Ordering;
+
+import DebugTools.Log;
+import GxEngine3D.Model.Polygon3D;
+
+import java.util.Arrays;
+import java.util.List;
+
+//orders by distance like OrderPolygon, but starts from the last frame's order
+//the camera rarely moves far between frames so that order only needs a little repair
+//NOTE: the last order lives in the OrderHistory each view hands in, so one instance can order several views
+public class CoherentOrdering extends OrderPolygon {
+
+    private static final Log LOG = Log.get(CoherentOrdering.class);
+
+    //insertion sort is abandoned for a full sort once it has shifted this many times the polygon count
+    private static final int INVERSIONS_PER_POLYGON = 2;
+    private static final int REPORT_EVERY = 500;
+
+    //scene index to position in the list being ordered, -1 when not being drawn
+    private int[] lookup = new int[0];
+
+    private long fastFrames = 0, fullFrames = 0;
+
+    @Override
+    public int[] order(double[] from, List<Polygon3D> polygons, int[] order, OrderHistory history) {
+        int n = polygons.size();
+        order = ensureCapacity(order, n);
+        double[] k = distances(from, polygons);
+
+        if (history.size == 0 || !seed(polygons, history, order) || !repair(k, n, order)) {
+            sortDescending(k, n, order);
+            fullFrames++;
+        } else {
+            fastFrames++;
+        }
+        if ((fastFrames + fullFrames) % REPORT_EVERY == 0 && LOG.isEnabled(1)) {
+            LOG.println("Fast path " + fastFrames + " / " + (fastFrames + fullFrames), 1);
+        }
+        remember(polygons, order, history);
+        return order;
+    }
+
+    //rebuilds last frame's order for the polygons still being drawn, anything new goes on the end
+    private boolean seed(List<Polygon3D> polygons, OrderHistory history, int[] order) {
+        int n = polygons.size();
+        int max = -1;
+        for (int i = 0; i < n; i++) {
+            int index = polygons.get(i).getIndex();
+            //can't match polygons up without their scene index
+            if (index < 0) return false;
+            max = Math.max(max, index);
+        }
+        if (lookup.length <= max) {
+            lookup = new int[Math.max(max + 1, lookup.length * 2)];
+            Arrays.fill(lookup, -1);
+        }
+        for (int i = 0; i < n; i++) {
+            lookup[polygons.get(i).getIndex()] = i;
+        }
+        int written = 0;
+        int[] last = history.indices;
+        for (int i = 0; i < history.size; i++) {
+            int index = last[i];
+            if (index >= 0 && index < lookup.length && lookup[index] >= 0) {
+                order[written++] = lookup[index];
+                //taken so it can't be added twice
+                lookup[index] = -1;
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            int index = polygons.get(i).getIndex();
+            if (lookup[index] >= 0) {
+                order[written++] = i;
+                lookup[index] = -1;
+            }
+        }
+        return true;
+    }
+
+    //insertion sort, furthest first, gives up when the order is too far from sorted
+    private boolean repair(double[] k, int n, int[] order) {
+        long budget = (long) n * INVERSIONS_PER_POLYGON;
+        for (int i = 1; i < n; i++) {
+            int index = order[i];
+            double key = k[index];
+            int j = i - 1;
+            while (j >= 0 && k[order[j]] < key) {
+                order[j + 1] = order[j];
+                j--;
+                if (--budget < 0) return false;
+            }
+            order[j + 1] = index;
+        }
+        return true;
+    }
+
+    //stores the order as scene indices since positions in the drawable list change every frame
+    private void remember(List<Polygon3D> polygons, int[] order, OrderHistory history) {
+        int n = polygons.size();
+        history.indices = ensureCapacity(history.indices, n);
+        for (int i = 0; i < n; i++) {
+            history.indices[i] = polygons.get(order[i]).getIndex();
+        }
+        history.size = n;
+    }
+
+    public long getFastFrames() {
+        return fastFrames;
+    }
+
+    public long getFullFrames() {
+        return fullFrames;
+    }
+}
@@ -8,5 +8,11 @@ import java.util.List;
  * Created by Dean on 31/12/16.
  */
 public interface IOrderStrategy {
-    List<Integer> order(double[] from, List<Polygon3D> polygons);
+    //fills the first polygons.size() entries of order with indices into polygons, furthest first
+    //returns order, or a bigger array when it was too small so the caller can keep it for the next frame
+    //history is the view's own, strategies that don't use the last frame's order leave it alone
+    int[] order(double[] from, List<Polygon3D> polygons, int[] order, OrderHistory history);
+    //called only when the scene's polygons or the shapes holding them change
+    //returns the polygons that should be drawn, which may have been split to make ordering possible
+    List<Polygon3D> partition(List<Polygon3D> polygons);
 }
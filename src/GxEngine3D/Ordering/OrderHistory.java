@@ -0,0 +1,19 @@
+package GxEngine3D.Ordering;
+
+//the order one view drew its polygons in last frame, for strategies that start from it
+//kept by the caller with the rest of the view's state and handed back every frame
+//stored as scene indices since positions in the drawable list change every frame
+public class OrderHistory {
+
+    int[] indices = new int[0];
+    //how many of indices are valid, nothing has been remembered while this is 0
+    int size = 0;
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
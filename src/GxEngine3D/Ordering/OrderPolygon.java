@@ -1,9 +1,7 @@
 package GxEngine3D.Ordering;
 
 import GxEngine3D.Model.Polygon3D;
-import Shapes.IShape;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -11,13 +9,26 @@ import java.util.List;
  */
 //orders based on distance to each polygon
 public class OrderPolygon extends BaseOrdering{
+    private double[] k = new double[0];
+
     @Override
-    public List<Integer> order(double[] from, List<Polygon3D> polygons) {
-        double[] k = new double[polygons.size()];
-        for (int i = 0; i < k.length; i++) {
+    public int[] order(double[] from, List<Polygon3D> polygons, int[] order, OrderHistory history) {
+        int n = polygons.size();
+        order = ensureCapacity(order, n);
+        // new order for this shapes polygons
+        sortDescending(distances(from, polygons), n, order);
+        return order;
+    }
+
+    //distance to each polygon, only the first polygons.size() entries are valid
+    protected double[] distances(double[] from, List<Polygon3D> polygons) {
+        int n = polygons.size();
+        if (k.length < n) {
+            k = new double[n];
+        }
+        for (int i = 0; i < n; i++) {
             k[i] = polygons.get(i).getDist(from);
         }
-        // new order for this shapes polygons
-        return sortIndex(k);
+        return k;
     }
 }
@@ -1,55 +1,52 @@
 package GxEngine3D.Ordering;
 
-import GxEngine3D.Helper.PlaneCalc;
-import GxEngine3D.Model.Plane;
 import GxEngine3D.Model.Polygon3D;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-//NOTE: according to JProfiler, order takes 73% of the total work being done
+//orders by walking a bsp tree from the camera
+//the tree is only rebuilt when the scene's polygons change, not every frame
 public class SidedOrdering extends BaseOrdering {
+
+    private BSPTree tree;
+    //maps positions in the tree to positions in the list being ordered, -1 when not being drawn
+    private int[] lookup = new int[0];
+
     @Override
-    public List<Integer> order(double[] from, List<Polygon3D> polygons) {
-        //init starting order
-        List<Integer> order = new ArrayList<>();
-        for (int i=0;i<polygons.size();i++)
-        {
-            order.add(i);
-        }
-        order = treeSort(order, polygons, from);
-        return order;
+    public List<Polygon3D> partition(List<Polygon3D> polygons) {
+        tree = new BSPTree(polygons);
+        return tree.getPolygons();
     }
 
-    //splits the array into 3 parts, the positive, the negative and the ambiguous
-    //then recursively sorts those parts
-    //similar to binary spacial partitions but only partial
-    private List<Integer> treeSort(List<Integer> array, List<Polygon3D> polygons, double[] from)
-    {
-        if (array.size() <= 1) return array;
-        ArrayList<Integer> pos = new ArrayList<>();
-        ArrayList<Integer> neg = new ArrayList<>();
-        int pivot = array.get(array.size()/2);
-        Plane plane = new Plane(polygons.get(pivot));
-        double[] nv = plane.getNV(from).toArray();
-        for (int i:array)
-        {
-            if (pivot == i) continue;
-            PlaneCalc.Side side = PlaneCalc.whichSide(polygons.get(i).getShape(), nv, plane.getP());
-            //encompasses planar, negative and both sided nature
-            if (side.ordinal() > 0)
-            {
-                neg.add(i);
+    @Override
+    public int[] order(double[] from, List<Polygon3D> polygons, int[] order, OrderHistory history) {
+        order = ensureCapacity(order, polygons.size());
+        BSPTree tree = this.tree;
+        int size = tree == null ? 0 : tree.size();
+        if (lookup.length < size) {
+            lookup = new int[size];
+        }
+        Arrays.fill(lookup, 0, size, -1);
+        boolean missing = false;
+        for (int i = 0; i < polygons.size(); i++) {
+            int index = polygons.get(i).getIndex();
+            if (index >= 0 && index < size) {
+                lookup[index] = i;
+            } else {
+                missing = true;
             }
-            else if (side == PlaneCalc.Side.POSITIVE)
-            {
-                pos.add(i);
+        }
+        int written = size > 0 ? tree.order(from, lookup, order) : 0;
+        if (missing) {
+            //polygons the tree doesn't know about can't be ordered so are drawn last
+            for (int i = 0; i < polygons.size(); i++) {
+                int index = polygons.get(i).getIndex();
+                if (index < 0 || index >= size) {
+                    order[written++] = i;
+                }
             }
         }
-        ArrayList<Integer> order = new ArrayList<>();
-        order.addAll(treeSort(neg, polygons, from));
-        order.add(pivot);
-        order.addAll(treeSort(pos, polygons, from));
         return order;
     }
 }
@@ -0,0 +1,10 @@
+package GxEngine3D.Rendering;
+
+import GxEngine3D.View.ViewHandler;
+
+import java.awt.Graphics;
+
+public interface IRenderStrategy {
+    //returns false when the scene has nothing ready to be drawn for this view yet
+    boolean render(Graphics g, ViewHandler vH);
+}
@@ -0,0 +1,28 @@
+package GxEngine3D.Rendering;
+
+import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.View.PolygonIterator;
+import GxEngine3D.View.ViewHandler;
+
+import java.awt.Color;
+import java.awt.Graphics;
+
+//draws the ordered polygons back to front, relies entirely on the scenes ordering strategy
+public class PainterRendering implements IRenderStrategy {
+
+    public static final Color BACKGROUND = new Color(140, 180, 180);
+
+    @Override
+    public boolean render(Graphics g, ViewHandler vH) {
+        PolygonIterator it = vH.getScene().getIterator(vH);
+        if (it == null) return false;
+        // Clear screen and draw background color
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, vH.getView().getWidth(), vH.getView().getHeight());
+        while (it.hasNext()) {
+            Polygon2D p = it.next();
+            p.drawPolygon(g);
+        }
+        return true;
+    }
+}
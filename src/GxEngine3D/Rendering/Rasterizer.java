@@ -0,0 +1,234 @@
+package GxEngine3D.Rendering;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+//software rasterizer writing straight into the pixels of a BufferedImage
+//every operation takes a clip rectangle (min inclusive, max exclusive) so separate regions can be worked on independently
+public class Rasterizer {
+
+    private BufferedImage image;
+    private int[] colour;
+    private float[] depth;
+    //which polygon last wrote each pixel, -1 for background
+    private int[] ids;
+    private int width, height;
+
+    //outlines sit exactly on the polygons they belong to so need a little leeway to pass the depth test
+    private static final float LINE_BIAS = 5e-4f;
+
+    public void resize(int w, int h)
+    {
+        w = Math.max(w, 1);
+        h = Math.max(h, 1);
+        if (image == null || w != width || h != height)
+        {
+            width = w;
+            height = h;
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            colour = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            depth = new float[w * h];
+            ids = new int[w * h];
+        }
+    }
+
+    public void clear(int rgb, int minX, int minY, int maxX, int maxY)
+    {
+        for (int y = minY; y < maxY; y++) {
+            int row = y * width;
+            Arrays.fill(colour, row + minX, row + maxX, rgb);
+            Arrays.fill(depth, row + minX, row + maxX, Float.MAX_VALUE);
+            Arrays.fill(ids, row + minX, row + maxX, -1);
+        }
+    }
+
+    //polygons are assumed to be convex so can be split as a fan around the first point
+    public void fillPolygon(int[] x, int[] y, double[] z, int n, int rgb, int id,
+                            int minX, int minY, int maxX, int maxY)
+    {
+        for (int i = 1; i < n - 1; i++) {
+            fillTriangle(x[0], y[0], z[0], x[i], y[i], z[i], x[i + 1], y[i + 1], z[i + 1],
+                    rgb, id, minX, minY, maxX, maxY);
+        }
+    }
+
+    public void fillTriangle(double ax, double ay, double az,
+                             double bx, double by, double bz,
+                             double cx, double cy, double cz,
+                             int rgb, int id, int minX, int minY, int maxX, int maxY)
+    {
+        double area = edge(ax, ay, bx, by, cx, cy);
+        if (area == 0) return;
+        if (area < 0) {
+            //keep a consistent winding so the same inside test works for every triangle
+            double t = bx; bx = cx; cx = t;
+            t = by; by = cy; cy = t;
+            t = bz; bz = cz; cz = t;
+            area = -area;
+        }
+        int x0 = Math.max(minX, (int) Math.floor(Math.min(ax, Math.min(bx, cx))));
+        int x1 = Math.min(maxX - 1, (int) Math.ceil(Math.max(ax, Math.max(bx, cx))));
+        int y0 = Math.max(minY, (int) Math.floor(Math.min(ay, Math.min(by, cy))));
+        int y1 = Math.min(maxY - 1, (int) Math.ceil(Math.max(ay, Math.max(by, cy))));
+        if (x0 > x1 || y0 > y1) return;
+
+        //edge functions are linear so can be stepped instead of recalculated
+        double px = x0 + 0.5, py = y0 + 0.5;
+        double w0Row = edge(bx, by, cx, cy, px, py);
+        double w1Row = edge(cx, cy, ax, ay, px, py);
+        double w2Row = edge(ax, ay, bx, by, px, py);
+        double w0dx = -(cy - by), w0dy = cx - bx;
+        double w1dx = -(ay - cy), w1dy = ax - cx;
+        double w2dx = -(by - ay), w2dy = bx - ax;
+        boolean o0 = owns(bx, by, cx, cy), o1 = owns(cx, cy, ax, ay), o2 = owns(ax, ay, bx, by);
+
+        double invArea = 1 / area;
+        for (int y = y0; y <= y1; y++) {
+            double w0 = w0Row, w1 = w1Row, w2 = w2Row;
+            int index = y * width + x0;
+            for (int x = x0; x <= x1; x++, index++) {
+                if (inside(w0, o0) && inside(w1, o1) && inside(w2, o2)) {
+                    float z = (float) ((w0 * az + w1 * bz + w2 * cz) * invArea);
+                    if (z < depth[index]) {
+                        depth[index] = z;
+                        colour[index] = rgb;
+                        ids[index] = id;
+                    }
+                }
+                w0 += w0dx;
+                w1 += w1dx;
+                w2 += w2dx;
+            }
+            w0Row += w0dy;
+            w1Row += w1dy;
+            w2Row += w2dy;
+        }
+    }
+
+    public void drawPolygon(int[] x, int[] y, double[] z, int n, int rgb,
+                            int minX, int minY, int maxX, int maxY)
+    {
+        int i, j;
+        for (i = 0, j = n - 1; i < n; j = i++) {
+            drawLine(x[j], y[j], z[j], x[i], y[i], z[i], rgb, minX, minY, maxX, maxY);
+        }
+    }
+
+    public void drawLine(double ax, double ay, double az, double bx, double by, double bz,
+                         int rgb, int minX, int minY, int maxX, int maxY)
+    {
+        //clip to the region first, points can be far off screen
+        //the region is padded by a pixel since points are rounded to the nearest pixel
+        //liang-barsky, each boundary narrows the range of t that lies inside it
+        //kept in locals rather than an array or field so lines cost nothing and tiles can draw at the same time
+        double dx = bx - ax, dy = by - ay;
+        double t0 = 0, t1 = 1;
+        for (int side = 0; side < 4; side++) {
+            double p, q;
+            switch (side) {
+                case 0:
+                    p = -dx;
+                    q = ax - (minX - 1);
+                    break;
+                case 1:
+                    p = dx;
+                    q = maxX - ax;
+                    break;
+                case 2:
+                    p = -dy;
+                    q = ay - (minY - 1);
+                    break;
+                default:
+                    p = dy;
+                    q = maxY - ay;
+                    break;
+            }
+            if (p == 0) {
+                if (q < 0) return;
+                continue;
+            }
+            double r = q / p;
+            if (p < 0) {
+                if (r > t1) return;
+                if (r > t0) t0 = r;
+            } else {
+                if (r < t0) return;
+                if (r < t1) t1 = r;
+            }
+        }
+        //steps are taken along the whole line so every region rounds to the same pixels
+        double steps = Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)));
+        double stepX = 0, stepY = 0, stepZ = 0;
+        if (steps > 0) {
+            stepX = dx / steps;
+            stepY = dy / steps;
+            stepZ = (bz - az) / steps;
+        }
+        long first = (long) Math.floor(t0 * steps), last = (long) Math.ceil(t1 * steps);
+        for (long i = first; i <= last; i++) {
+            int x = (int) Math.round(ax + stepX * i), y = (int) Math.round(ay + stepY * i);
+            if (x >= minX && x < maxX && y >= minY && y < maxY) {
+                int index = y * width + x;
+                if (az + stepZ * i <= depth[index] + LINE_BIAS) {
+                    colour[index] = rgb;
+                }
+            }
+        }
+    }
+
+    //blends a colour over every pixel owned by the given polygon
+    public void highlight(int id, int argb, int minX, int minY, int maxX, int maxY)
+    {
+        int a = (argb >>> 24) & 0xFF;
+        int r = (argb >> 16) & 0xFF, g = (argb >> 8) & 0xFF, b = argb & 0xFF;
+        for (int y = minY; y < maxY; y++) {
+            int index = y * width + minX;
+            for (int x = minX; x < maxX; x++, index++) {
+                if (ids[index] == id) {
+                    int c = colour[index];
+                    int cr = (c >> 16) & 0xFF, cg = (c >> 8) & 0xFF, cb = c & 0xFF;
+                    cr += (r - cr) * a / 255;
+                    cg += (g - cg) * a / 255;
+                    cb += (b - cb) * a / 255;
+                    colour[index] = (cr << 16) | (cg << 8) | cb;
+                }
+            }
+        }
+    }
+
+    public int getId(int x, int y)
+    {
+        if (x < 0 || x >= width || y < 0 || y >= height) return -1;
+        return ids[y * width + x];
+    }
+
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private static double edge(double ax, double ay, double bx, double by, double px, double py)
+    {
+        return (bx - ax) * (py - ay) - (by - ay) * (px - ax);
+    }
+
+    //pixels exactly on a shared edge belong to only one of the triangles
+    private static boolean owns(double ax, double ay, double bx, double by)
+    {
+        double dy = by - ay;
+        return dy < 0 || (dy == 0 && bx - ax > 0);
+    }
+
+    private static boolean inside(double w, boolean owns)
+    {
+        return w > 0 || (w == 0 && owns);
+    }
+}
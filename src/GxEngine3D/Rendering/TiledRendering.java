@@ -0,0 +1,195 @@
+package GxEngine3D.Rendering;
+
+import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.View.ViewHandler;
+
+import java.awt.Polygon;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+//splits the screen into tiles and rasterizes them concurrently
+//tiles never overlap so they all write into the same buffers without any locking
+public class TiledRendering extends ZBufferRendering {
+
+    //renderers share one pool unless given their own parallelism, so making renderers doesn't leave threads behind
+    private static ForkJoinPool shared;
+
+    private int tileSize = 64;
+    private ForkJoinPool pool;
+    private boolean ownsPool = false;
+
+    private int tilesX, tilesY;
+    //which polygons touch each tile, kept between frames to avoid reallocating
+    private int[][] bins = new int[0][];
+    private int[] binSize = new int[0];
+    private int[] shades = new int[0];
+
+    public TiledRendering()
+    {
+        pool = sharedPool();
+    }
+
+    public TiledRendering(int parallelism)
+    {
+        this();
+        setParallelism(parallelism);
+    }
+
+    private static synchronized ForkJoinPool sharedPool()
+    {
+        if (shared == null) {
+            shared = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return shared;
+    }
+
+    public void setTileSize(int size)
+    {
+        tileSize = Math.max(size, 8);
+    }
+
+    public int getTileSize()
+    {
+        return tileSize;
+    }
+
+    public void setParallelism(int parallelism)
+    {
+        if (parallelism != pool.getParallelism()) {
+            dispose();
+            pool = new ForkJoinPool(parallelism);
+            ownsPool = true;
+        }
+    }
+
+    //stops this renderer's own threads, if it has any, and goes back to the shared pool
+    public void dispose()
+    {
+        if (ownsPool) {
+            pool.shutdown();
+            ownsPool = false;
+        }
+        pool = sharedPool();
+    }
+
+    public int getParallelism()
+    {
+        return pool.getParallelism();
+    }
+
+    @Override
+    protected void rasterize(List<Polygon2D> drawable, ViewHandler vH, int minX, int minY, int maxX, int maxY) {
+        bin(drawable, minX, minY, maxX, maxY);
+        pool.invoke(new TileTask(drawable, vH, 0, tilesX * tilesY, minX, minY, maxX, maxY));
+    }
+
+    private void bin(List<Polygon2D> drawable, int minX, int minY, int maxX, int maxY)
+    {
+        tilesX = (maxX - minX + tileSize - 1) / tileSize;
+        tilesY = (maxY - minY + tileSize - 1) / tileSize;
+        int tiles = tilesX * tilesY;
+        if (bins.length < tiles) {
+            int[][] grown = new int[tiles][];
+            System.arraycopy(bins, 0, grown, 0, bins.length);
+            for (int i = bins.length; i < tiles; i++) {
+                grown[i] = new int[16];
+            }
+            bins = grown;
+            binSize = new int[tiles];
+        }
+        for (int i = 0; i < tiles; i++) {
+            binSize[i] = 0;
+        }
+        if (shades.length < drawable.size()) {
+            shades = new int[drawable.size()];
+        }
+
+        for (int i = 0; i < drawable.size(); i++) {
+            Polygon2D p = drawable.get(i);
+            shades[i] = p.getShade().getRGB();
+            Polygon shape = p.getPolygon();
+            if (shape.npoints == 0) continue;
+            int x0 = shape.xpoints[0], x1 = x0, y0 = shape.ypoints[0], y1 = y0;
+            for (int ii = 1; ii < shape.npoints; ii++) {
+                x0 = Math.min(x0, shape.xpoints[ii]);
+                x1 = Math.max(x1, shape.xpoints[ii]);
+                y0 = Math.min(y0, shape.ypoints[ii]);
+                y1 = Math.max(y1, shape.ypoints[ii]);
+            }
+            //off screen polygons are still in the list when any of their points are in the frustum
+            if (x1 < minX || y1 < minY || x0 >= maxX || y0 >= maxY) continue;
+            int tx0 = (Math.max(x0, minX) - minX) / tileSize, tx1 = (Math.min(x1, maxX - 1) - minX) / tileSize;
+            int ty0 = (Math.max(y0, minY) - minY) / tileSize, ty1 = (Math.min(y1, maxY - 1) - minY) / tileSize;
+            for (int ty = ty0; ty <= ty1; ty++) {
+                for (int tx = tx0; tx <= tx1; tx++) {
+                    add(ty * tilesX + tx, i);
+                }
+            }
+        }
+    }
+
+    private void add(int tile, int polygon)
+    {
+        int[] bin = bins[tile];
+        if (binSize[tile] == bin.length) {
+            int[] grown = new int[bin.length * 2];
+            System.arraycopy(bin, 0, grown, 0, bin.length);
+            bins[tile] = bin = grown;
+        }
+        bin[binSize[tile]++] = polygon;
+    }
+
+    private void renderTile(List<Polygon2D> drawable, ViewHandler vH, int tile, int minX, int minY, int maxX, int maxY)
+    {
+        int x0 = minX + (tile % tilesX) * tileSize, y0 = minY + (tile / tilesX) * tileSize;
+        int x1 = Math.min(x0 + tileSize, maxX), y1 = Math.min(y0 + tileSize, maxY);
+        rasterizer.clear(PainterRendering.BACKGROUND.getRGB(), x0, y0, x1, y1);
+        int[] bin = bins[tile];
+        int size = binSize[tile];
+        //bins are filled in drawable order so ids and depth ties match the single threaded path
+        for (int i = 0; i < size; i++) {
+            fill(drawable.get(bin[i]), shades[bin[i]], bin[i], x0, y0, x1, y1);
+        }
+        if (vH.hasOutlines()) {
+            for (int i = 0; i < size; i++) {
+                outline(drawable.get(bin[i]), x0, y0, x1, y1);
+            }
+        }
+    }
+
+    private class TileTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        List<Polygon2D> drawable;
+        ViewHandler vH;
+        int from, to, minX, minY, maxX, maxY;
+
+        TileTask(List<Polygon2D> drawable, ViewHandler vH, int from, int to, int minX, int minY, int maxX, int maxY)
+        {
+            this.drawable = drawable;
+            this.vH = vH;
+            this.from = from;
+            this.to = to;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from) {
+                    renderTile(drawable, vH, from, minX, minY, maxX, maxY);
+                }
+            }
+            else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new TileTask(drawable, vH, from, mid, minX, minY, maxX, maxY),
+                        new TileTask(drawable, vH, mid, to, minX, minY, maxX, maxY));
+            }
+        }
+    }
+}
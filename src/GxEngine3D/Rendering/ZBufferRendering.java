@@ -0,0 +1,78 @@
+package GxEngine3D.Rendering;
+
+import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.View.ViewHandler;
+
+import java.awt.Graphics;
+import java.awt.Polygon;
+import java.util.List;
+
+//depth buffered rendering, polygons can be drawn in any order so the scene does not need to order them
+//NOTE: holds its own buffers so every view needs its own instance
+public class ZBufferRendering implements IRenderStrategy {
+
+    protected static final int HIGHLIGHT = (100 << 24) | 0xFFFFFF, OUTLINE = 0;
+
+    protected Rasterizer rasterizer = new Rasterizer();
+
+    @Override
+    public boolean render(Graphics g, ViewHandler vH) {
+        List<Polygon2D> drawable = vH.getScene().getDrawable(vH);
+        if (drawable == null) return false;
+        rasterizer.resize(vH.getView().getWidth(), vH.getView().getHeight());
+        int w = rasterizer.getWidth(), h = rasterizer.getHeight();
+
+        rasterize(drawable, vH, 0, 0, w, h);
+        highlight(vH, 0, 0, w, h);
+
+        g.drawImage(rasterizer.getImage(), 0, 0, null);
+        return true;
+    }
+
+    protected void rasterize(List<Polygon2D> drawable, ViewHandler vH, int minX, int minY, int maxX, int maxY)
+    {
+        rasterizer.clear(PainterRendering.BACKGROUND.getRGB(), minX, minY, maxX, maxY);
+        for (int i = 0; i < drawable.size(); i++) {
+            Polygon2D p = drawable.get(i);
+            fill(p, p.getShade().getRGB(), i, minX, minY, maxX, maxY);
+        }
+        if (vH.hasOutlines()) {
+            for (Polygon2D p : drawable) {
+                outline(p, minX, minY, maxX, maxY);
+            }
+        }
+    }
+
+    protected void fill(Polygon2D p, int rgb, int id, int minX, int minY, int maxX, int maxY)
+    {
+        Polygon shape = p.getPolygon();
+        if (shape.npoints > 2) {
+            rasterizer.fillPolygon(shape.xpoints, shape.ypoints, p.getDepth(), shape.npoints,
+                    rgb, id, minX, minY, maxX, maxY);
+        }
+        else if (shape.npoints == 2) {
+            rasterizer.drawLine(shape.xpoints[0], shape.ypoints[0], p.getDepth()[0],
+                    shape.xpoints[1], shape.ypoints[1], p.getDepth()[1],
+                    rgb, minX, minY, maxX, maxY);
+        }
+    }
+
+    protected void outline(Polygon2D p, int minX, int minY, int maxX, int maxY)
+    {
+        Polygon shape = p.getPolygon();
+        rasterizer.drawPolygon(shape.xpoints, shape.ypoints, p.getDepth(), shape.npoints,
+                OUTLINE, minX, minY, maxX, maxY);
+    }
+
+    //the hovered polygon is whichever one won the depth test in the centre of the view
+    protected void highlight(ViewHandler vH, int minX, int minY, int maxX, int maxY)
+    {
+        if (vH.canHover()) {
+            int[] centre = vH.getCentre();
+            int id = rasterizer.getId(centre[0], centre[1]);
+            if (id >= 0) {
+                rasterizer.highlight(id, HIGHLIGHT, minX, minY, maxX, maxY);
+            }
+        }
+    }
+}
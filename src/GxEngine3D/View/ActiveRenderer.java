@@ -0,0 +1,108 @@
+package GxEngine3D.View;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.HashMap;
+import java.util.Map;
+
+//draws views from the calling thread instead of asking swing to repaint them on the event thread
+//each view is painted into its own VolatileImage which is then copied to the screen in one go
+//swing still paints the views on the event thread, when they are uncovered or resized, so their paint should
+//call paintLast first, only the thread calling render may go near the scene
+public class ActiveRenderer {
+
+    private Map<JPanel, VolatileImage> buffers = new HashMap<>();
+    //held while a view is painted into its buffer or a buffer is copied, so swing never copies half a frame
+    private final Object lock = new Object();
+    //the thread calling render, paints from any other thread are swing's
+    private volatile Thread renderThread;
+
+    //marks the view as drawn by this, render does it too but views should be added before the thread calling render starts
+    public void add(JPanel view)
+    {
+        if (view.getClientProperty(ActiveRenderer.class) != this) {
+            view.putClientProperty(ActiveRenderer.class, this);
+        }
+    }
+
+    //for a view's paint, true when it is swing painting a view that a renderer draws
+    //the last finished frame has then been copied to g, if there is one, and the view shouldn't draw itself
+    public static boolean paintLast(JPanel view, Graphics g)
+    {
+        Object owner = view.getClientProperty(ActiveRenderer.class);
+        if (!(owner instanceof ActiveRenderer)) return false;
+        ActiveRenderer renderer = (ActiveRenderer) owner;
+        if (Thread.currentThread() == renderer.renderThread) return false;
+        synchronized (renderer.lock) {
+            VolatileImage buffer = renderer.buffers.get(view);
+            if (buffer != null && !buffer.contentsLost()) {
+                g.drawImage(buffer, 0, 0, null);
+            }
+        }
+        return true;
+    }
+
+    //returns the nanoseconds spent copying to the screen, not counting painting the buffer
+    public long render(JPanel view)
+    {
+        renderThread = Thread.currentThread();
+        add(view);
+        synchronized (lock) {
+            return renderLocked(view);
+        }
+    }
+
+    private long renderLocked(JPanel view)
+    {
+        int w = view.getWidth(), h = view.getHeight();
+        //panels that only hold dimensions, like the pip ones, are never shown
+        if (w <= 0 || h <= 0 || !view.isShowing()) return 0;
+        GraphicsConfiguration gc = view.getGraphicsConfiguration();
+        if (gc == null) return 0;
+        long presenting = 0, start;
+        VolatileImage buffer = buffers.get(view);
+        do {
+            //the image can be lost at any time, for example when the display mode changes
+            if (buffer == null || buffer.getWidth() != w || buffer.getHeight() != h ||
+                    buffer.validate(gc) == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (buffer != null) {
+                    buffer.flush();
+                }
+                buffer = gc.createCompatibleVolatileImage(w, h);
+                buffers.put(view, buffer);
+            }
+            Graphics2D g = buffer.createGraphics();
+            try {
+                view.paint(g);
+            } finally {
+                g.dispose();
+            }
+            start = System.nanoTime();
+            Graphics screen = view.getGraphics();
+            if (screen != null) {
+                screen.drawImage(buffer, 0, 0, null);
+                screen.dispose();
+            }
+            presenting += System.nanoTime() - start;
+        } while (buffer.contentsLost());
+        start = System.nanoTime();
+        //some platforms queue drawing up, this makes sure the frame is actually shown now
+        Toolkit.getDefaultToolkit().sync();
+        return presenting + System.nanoTime() - start;
+    }
+
+    public void remove(JPanel view)
+    {
+        if (view.getClientProperty(ActiveRenderer.class) == this) {
+            view.putClientProperty(ActiveRenderer.class, null);
+        }
+        VolatileImage buffer;
+        synchronized (lock) {
+            buffer = buffers.remove(view);
+        }
+        if (buffer != null) {
+            buffer.flush();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package GxEngine3D.View.PIP;
 
+import GxEngine3D.View.ActiveRenderer;
 import GxEngine3D.View.ViewHelper.InvisibleMouse;
 import GxEngine3D.View.ViewHelper.MouseAim;
 
@@ -25,6 +26,8 @@ public class PIPScreen extends JPanel {
     }
 
     public void paint(Graphics g) {
+        //swing painting over an actively rendered view only gets the last frame
+        if (ActiveRenderer.paintLast(this, g)) return;
         for (PIPView view:views)
         {
             view.render(g);
@@ -1,29 +1,41 @@
 package GxEngine3D.View;
 
-import DebugTools.TextOutput;
 import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.Ordering.OrderHistory;
 import java.util.List;
 
+//NOTE: each view keeps one iterator that is reset every frame, so only one pass over it can happen at a time
 public class PolygonIterator {
 
     List<Polygon2D> polygons;
-    private List<Integer> newOrder;
+    private int[] newOrder = new int[0];
+    private int size = 0;
     private int orderPos = 0;
+    //the view's last order, for strategies that repair it rather than starting over
+    private final OrderHistory history = new OrderHistory();
 
-    public PolygonIterator(List<Polygon2D> polys, List<Integer> order)
+    public void reset(List<Polygon2D> polys, int[] order)
     {
         polygons = polys;
         newOrder = order;
+        size = polys.size();
+        orderPos = 0;
     }
     public boolean hasNext()
     {
-        return orderPos < newOrder.size();
+        return orderPos < size;
     }
     public Polygon2D next()
     {
-        Polygon2D d = polygons.get(newOrder.get(orderPos));
-        TextOutput.println(newOrder.get(orderPos), 2);
-		orderPos++;
-		return d;
+        return polygons.get(newOrder[orderPos++]);
+    }
+    //the order is kept so the next frame can write into it instead of allocating
+    public int[] getOrder()
+    {
+        return newOrder;
+    }
+    public OrderHistory getHistory()
+    {
+        return history;
     }
 }
@@ -1,11 +1,11 @@
 package GxEngine3D.View;
 
-import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.Controller.FrameProfiler;
 import GxEngine3D.View.PIP.PIPView;
 import GxEngine3D.View.ViewHelper.InvisibleMouse;
 import GxEngine3D.View.ViewHelper.MouseAim;
+import GxEngine3D.View.ViewHelper.ProfileOverlay;
 
-import java.awt.Color;
 import java.awt.Graphics;
 
 
@@ -34,6 +34,8 @@ public class Screen extends PIPView{
 
 	@Override
 	public void paint(Graphics g) {
+		//swing painting over an actively rendered view only gets the last frame
+		if (ActiveRenderer.paintLast(this, g)) return;
 		render(g);
 	}
 
@@ -42,18 +44,16 @@ public class Screen extends PIPView{
 		super.render(gfx);
 
 		//draws polygons
-		PolygonIterator it = vH.scene.getIterator(vH);
-		if (it != null) {
-			// Clear screen and draw background color
-			gfx.setColor(new Color(140, 180, 180));
-			gfx.fillRect(0, 0, getWidth(), getHeight());
-			while (it.hasNext()) {
-				Polygon2D p = it.next();
-				p.drawPolygon(gfx);
-			}
+		long start = System.nanoTime();
+		boolean drawn = vH.getRenderer().render(gfx, vH);
+		vH.getProfiler().add(FrameProfiler.Stage.DRAW, System.nanoTime() - start);
+		if (drawn) {
 			// draw the cross in the centre of the screen
 			MouseAim.drawMouseAim(gfx, getWidth(), getHeight());
 		}
+		if (vH.isProfileShown()) {
+			ProfileOverlay.drawProfile(gfx, vH.getProfiler());
+		}
 	}
 
 	void invisibleMouse() {
@@ -2,30 +2,49 @@ package GxEngine3D.View;
 
 import GxEngine3D.Camera.Camera;
 import GxEngine3D.Camera.ICameraEventListener;
+import GxEngine3D.Controller.FrameProfiler;
 import GxEngine3D.Controller.GXTickEvent;
+import GxEngine3D.Controller.IFrameListener;
 import GxEngine3D.Controller.ITickListener;
 import GxEngine3D.Controller.Scene;
-import GxEngine3D.Model.Matrix.Matrix;
+import GxEngine3D.Model.Frustum;
+import GxEngine3D.Model.Matrix.Mat4;
+import GxEngine3D.Rendering.IRenderStrategy;
+import GxEngine3D.Rendering.PainterRendering;
 
 import javax.swing.JPanel;
 
-public class ViewHandler implements ICameraEventListener, ITickListener {
+public class ViewHandler implements ICameraEventListener, ITickListener, IFrameListener {
 
 	JPanel view;
 	Scene scene;
 	Camera camera;
-	boolean needsRedraw = true;
+	//set by camera moves from any thread and cleared by the frame that draws them
+	volatile boolean needsRedraw = true;
 
-	boolean hasOutlines = true, canHover = true;
+	boolean hasOutlines = true, canHover = true, showProfile = false;
 
-	private double zoom = 1, mnZoom = 1, mxZoom = 10;
+	//changed by the event thread, read when frames set up the projection
+	private volatile double zoom = 1;
+	private double mnZoom = 1, mxZoom = 10;
 
-	Matrix projectionMatrix;
+	Mat4 projectionMatrix = new Mat4(), viewProjection = new Mat4();
+	//identifies the current view projection so points projected with it can be recognised
+	private static long projections = 0;
+	private long projectionId = -1;
+	//counts this view's frames so what was drawn last frame can be told apart from what is being made now
+	private int frame = 0;
+	Frustum frustum = new Frustum();
+
+	IRenderStrategy renderer = new PainterRendering();
+	//stage timings of this view's frames, each update starts a new frame
+	FrameProfiler profiler;
 
 	public ViewHandler(JPanel v, Camera c, Scene s) {
 		view = v;
 		camera = c;
 		scene = s;
+		profiler = new FrameProfiler(toString());
 
 		c.add(this);
 	}
@@ -33,10 +52,17 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 	//this should be the last thing to update, always
 	public void update()
 	{
+		startFrame();
 		updateMatrix();
 		scene.update(this);
 	}
 
+	//the scene's counts are still those of the frame being finished
+	private void startFrame()
+	{
+		profiler.endFrame(scene.getStats(this));
+	}
+
 	private double[] gluPerspective(double angleOfView, double imageAspectRatio, double n, double f)
 	{
 		double scale = (Math.tan(angleOfView * 0.5 * Math.PI / 180) * n) / zoom;
@@ -47,22 +73,20 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 		return new double[]{b, t, l, r};
 	}
 
-	private Matrix glFrustum(double b, double t, double l, double r,
+	private void glFrustum(Mat4 m, double b, double t, double l, double r,
 			double n, double f)
 	{
-		double[][] m = new double[4][4];
-		m[0][0] = 2 * n / (r - l);
+		m.setZero();
+		m.set(0, 0, 2 * n / (r - l));
 
-		m[1][1] = 2 * n / (t - b);
+		m.set(1, 1, 2 * n / (t - b));
 
-		m[0][2] = (r + l) / (r - l);
-		m[1][2] = (t + b) / (t - b);
-		m[2][2] = -(f + n) / (f - n);
-		m[3][2] = -1;
+		m.set(0, 2, (r + l) / (r - l));
+		m.set(1, 2, (t + b) / (t - b));
+		m.set(2, 2, -(f + n) / (f - n));
+		m.set(3, 2, -1);
 
-		m[2][3] = -2 * f * n / (f - n);
-
-		return new Matrix(m);
+		m.set(2, 3, -2 * f * n / (f - n));
 	}
 
 	private void updateMatrix()
@@ -73,7 +97,28 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 		double imageAspectRatio = (double)(view.getWidth()) / view.getHeight();
 
 		double[] btlr = gluPerspective(angleOfView, imageAspectRatio, near, far);
-		projectionMatrix = glFrustum(btlr[0], btlr[1], btlr[2], btlr[3], near, far);
+		glFrustum(projectionMatrix, btlr[0], btlr[1], btlr[2], btlr[3], near, far);
+	}
+
+	//needs to happen after the camera is setup, once per frame rather than for every polygon
+	public void updateViewProjection()
+	{
+		Mat4.multiply(projectionMatrix, camera.getMatrix(), viewProjection);
+		projectionId = ++projections;
+		frame++;
+		frustum.update(viewProjection);
+	}
+
+	public Frustum getFrustum() {
+		return frustum;
+	}
+
+	public long getProjectionId() {
+		return projectionId;
+	}
+
+	public int getFrame() {
+		return frame;
 	}
 
 	public int[] getCentre()
@@ -119,10 +164,36 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 		return camera;
 	}
 
-	public Matrix getProjectionMatrix() {
+	public Mat4 getViewProjection() {
+		return viewProjection;
+	}
+
+	public Mat4 getProjectionMatrix() {
 		return projectionMatrix;
 	}
 
+	public IRenderStrategy getRenderer() {
+		return renderer;
+	}
+
+	public void setRenderer(IRenderStrategy r) {
+		renderer = r;
+	}
+
+	public FrameProfiler getProfiler() {
+		return profiler;
+	}
+
+	//draws the stage timings over the view
+	public boolean isProfileShown()
+	{
+		return showProfile;
+	}
+	public void setProfileShown(boolean b)
+	{
+		showProfile = b;
+	}
+
 	public boolean canHover()
 	{
 		return canHover;
@@ -140,22 +211,25 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 		canHover = b;
 	}
 	
+	//worked out before being set so a frame never sees it outside its limits
 	public void doZoom(int direction)
 	{
+		double z = zoom;
 		if (direction < 0)
 		{
-			zoom += 0.1 * zoom;
-			if (zoom > mxZoom) {
-				zoom = mxZoom;
+			z += 0.1 * z;
+			if (z > mxZoom) {
+				z = mxZoom;
 			}
 		}
 		else
 		{
-			zoom -= 0.1 * zoom;
-			if (zoom < mnZoom) {
-				zoom = mnZoom;
+			z -= 0.1 * z;
+			if (z < mnZoom) {
+				z = mnZoom;
 			}
 		}
+		zoom = z;
 	}
 
 	@Override
@@ -170,6 +244,15 @@ public class ViewHandler implements ICameraEventListener, ITickListener {
 
 	@Override
 	public void onTick(GXTickEvent.Type t) {
+		startFrame();
+		updateMatrix();
+		scene.update(this);
+	}
+
+	@Override
+	public void onFrame(double alpha) {
+		startFrame();
+		scene.setInterpolation(alpha);
 		updateMatrix();
 		scene.update(this);
 	}
@@ -6,6 +6,10 @@ import java.awt.image.BufferedImage;
 public class InvisibleMouse {
     public static Cursor createCursor()
     {
+        //there's no mouse to hide without a display, and asking the toolkit for a cursor would throw
+        if (GraphicsEnvironment.isHeadless()) {
+            return Cursor.getDefaultCursor();
+        }
         Toolkit toolkit = Toolkit.getDefaultToolkit();
         BufferedImage cursorImage = new BufferedImage(1, 1,
                 BufferedImage.TRANSLUCENT);
@@ -0,0 +1,34 @@
+package GxEngine3D.View.ViewHelper;
+
+import GxEngine3D.Controller.FrameProfiler;
+
+import java.awt.*;
+
+public class ProfileOverlay {
+    static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 11);
+    static final Color BACKGROUND = new Color(0, 0, 0, 160);
+    static final int MARGIN = 4;
+
+    //the stage timings in the top left corner, over whatever was drawn
+    public static void drawProfile(Graphics g, FrameProfiler profiler)
+    {
+        String[] lines = profiler.getLines();
+        g.setFont(FONT);
+        FontMetrics fm = g.getFontMetrics();
+        int width = 0;
+        for (String line : lines) {
+            width = Math.max(width, fm.stringWidth(line));
+        }
+        String fps = String.format("%.1f fps", profiler.getFPS());
+        int lineHeight = fm.getHeight();
+        g.setColor(BACKGROUND);
+        g.fillRect(0, 0, width + MARGIN * 2, lineHeight * (lines.length + 1) + MARGIN * 2);
+        g.setColor(Color.WHITE);
+        int y = MARGIN + fm.getAscent();
+        g.drawString(fps, MARGIN, y);
+        for (String line : lines) {
+            y += lineHeight;
+            g.drawString(line, MARGIN, y);
+        }
+    }
+}
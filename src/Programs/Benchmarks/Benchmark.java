@@ -0,0 +1,40 @@
+package Programs.Benchmarks;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+//one thing to time, set up once and then run as many times as the runner asks
+//anything random should come from a fixed seed so every run and every commit times the same work
+public abstract class Benchmark {
+
+    private String name;
+    private Map<String, Object> params = new LinkedHashMap<>();
+
+    public Benchmark(String name)
+    {
+        this.name = name;
+    }
+
+    //recorded alongside the results, so runs with different sizes aren't compared against each other
+    public Benchmark param(String key, Object value)
+    {
+        params.put(key, value);
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, Object> getParams() {
+        return params;
+    }
+
+    //not timed
+    public void setup()
+    {
+    }
+
+    //does the work ops times, whatever it returns is kept so the work can't be optimised away
+    public abstract double run(int ops);
+}
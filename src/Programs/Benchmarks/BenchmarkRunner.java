@@ -0,0 +1,214 @@
+package Programs.Benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+//times benchmarks the way jmh would, without needing it on the classpath
+//each benchmark gets its own jvm so what was compiled for one doesn't skew the next, then warms up and is timed
+//over fixed length iterations, results are printed as a table and written out as json to compare between commits
+//arguments:
+//  --filter <text>   only benchmarks whose name contains the text
+//  --forks <n>       jvms per benchmark, 0 runs everything in this one
+//  --out <file>      where to write the json, results.json by default
+//  --quick           fewer and shorter iterations, for checking the benchmarks still run
+public class BenchmarkRunner {
+
+    private static final String CHILD = "--child", RESULT = "RESULT ";
+
+    private int warmups = 5, iterations = 10, forks = 1;
+    private long iterationNanos = 100000000L;
+    private String filter = "", out = "results.json";
+
+    //what the benchmarks return is kept here so their work can't be optimised away
+    private static volatile double sink;
+
+    public static void run(String[] args, List<Benchmark> benchmarks, Class<?> main) throws IOException, InterruptedException
+    {
+        BenchmarkRunner runner = new BenchmarkRunner();
+        int child = -1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--filter":
+                    runner.filter = args[++i];
+                    break;
+                case "--forks":
+                    runner.forks = Integer.parseInt(args[++i]);
+                    break;
+                case "--out":
+                    runner.out = args[++i];
+                    break;
+                case "--quick":
+                    runner.warmups = 2;
+                    runner.iterations = 3;
+                    runner.iterationNanos = 20000000L;
+                    break;
+                case CHILD:
+                    child = Integer.parseInt(args[++i]);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        if (child >= 0) {
+            //only the samples go back to the parent, it does the reporting
+            System.out.println(RESULT + runner.samplesJson(runner.measure(benchmarks.get(child))));
+            return;
+        }
+
+        List<String> results = new ArrayList<>();
+        System.out.println(String.format("%-44s %12s %10s %12s", "benchmark", "ns/op", "+-", "min"));
+        for (int i = 0; i < benchmarks.size(); i++) {
+            Benchmark b = benchmarks.get(i);
+            if (!b.getName().contains(runner.filter)) continue;
+            List<Double> samples = new ArrayList<>();
+            if (runner.forks == 0) {
+                samples.addAll(runner.measure(b));
+            } else {
+                for (int f = 0; f < runner.forks; f++) {
+                    samples.addAll(runner.fork(main, i, args));
+                }
+            }
+            results.add(runner.report(b, samples));
+        }
+        runner.write(results);
+    }
+
+    //ns per op of each timed iteration
+    private List<Double> measure(Benchmark b)
+    {
+        b.setup();
+        //find how many ops fill an iteration, starting from one so slow benchmarks don't take forever
+        int ops = 1;
+        long took;
+        while ((took = time(b, ops)) < iterationNanos / 10 && ops < Integer.MAX_VALUE / 2) {
+            ops *= 2;
+        }
+        ops = (int) Math.max(1, Math.min(Integer.MAX_VALUE, ops * (double) iterationNanos / Math.max(1, took)));
+        for (int i = 0; i < warmups; i++) {
+            time(b, ops);
+        }
+        List<Double> samples = new ArrayList<>();
+        for (int i = 0; i < iterations; i++) {
+            samples.add(time(b, ops) / (double) ops);
+        }
+        return samples;
+    }
+
+    private static long time(Benchmark b, int ops)
+    {
+        long start = System.nanoTime();
+        sink += b.run(ops);
+        return System.nanoTime() - start;
+    }
+
+    private List<Double> fork(Class<?> main, int index, String[] args) throws IOException, InterruptedException
+    {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(main.getName());
+        for (String a : args) {
+            command.add(a);
+        }
+        command.add(CHILD);
+        command.add(String.valueOf(index));
+        Process p = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+        List<Double> samples = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(p.getInputStream()))) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (!line.startsWith(RESULT)) continue;
+                String list = line.substring(line.indexOf('[') + 1, line.lastIndexOf(']'));
+                for (String s : list.split(",")) {
+                    samples.add(Double.parseDouble(s.trim()));
+                }
+            }
+        }
+        if (p.waitFor() != 0 || samples.isEmpty()) {
+            throw new IllegalStateException("Benchmark " + index + " failed in its forked jvm");
+        }
+        return samples;
+    }
+
+    private String report(Benchmark b, List<Double> samples)
+    {
+        double mean = 0, min = Double.MAX_VALUE, max = 0;
+        for (double s : samples) {
+            mean += s;
+            min = Math.min(min, s);
+            max = Math.max(max, s);
+        }
+        mean /= samples.size();
+        double variance = 0;
+        for (double s : samples) {
+            variance += (s - mean) * (s - mean);
+        }
+        double stdev = samples.size() > 1 ? Math.sqrt(variance / (samples.size() - 1)) : 0;
+        System.out.println(String.format(Locale.ROOT, "%-44s %12.2f %10.2f %12.2f", label(b), mean, stdev, min));
+
+        StringBuilder sb = new StringBuilder("    {\"name\": ").append(quote(b.getName())).append(", \"params\": {");
+        String separator = "";
+        for (Map.Entry<String, Object> e : b.getParams().entrySet()) {
+            sb.append(separator).append(quote(e.getKey())).append(": ");
+            Object v = e.getValue();
+            sb.append(v instanceof Number || v instanceof Boolean ? v.toString() : quote(String.valueOf(v)));
+            separator = ", ";
+        }
+        sb.append("}, \"unit\": \"ns/op\"");
+        sb.append(String.format(Locale.ROOT, ", \"mean\": %.4f, \"stdev\": %.4f, \"min\": %.4f, \"max\": %.4f", mean, stdev, min, max));
+        sb.append(", ").append(samplesJson(samples)).append("}");
+        return sb.toString();
+    }
+
+    private String samplesJson(List<Double> samples)
+    {
+        StringBuilder sb = new StringBuilder("\"samples\": [");
+        for (int i = 0; i < samples.size(); i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(String.format(Locale.ROOT, "%.4f", samples.get(i)));
+        }
+        return sb.append("]").toString();
+    }
+
+    private static String label(Benchmark b)
+    {
+        StringBuilder sb = new StringBuilder(b.getName());
+        for (Map.Entry<String, Object> e : b.getParams().entrySet()) {
+            sb.append(' ').append(e.getKey()).append('=').append(e.getValue());
+        }
+        return sb.toString();
+    }
+
+    private static String quote(String s)
+    {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    //the machine and settings are written too, results are only comparable when they match
+    private void write(List<String> results) throws IOException
+    {
+        try (PrintWriter w = new PrintWriter(out, "UTF-8")) {
+            w.println("{");
+            w.println("  \"java\": " + quote(System.getProperty("java.version")) + ",");
+            w.println("  \"vm\": " + quote(System.getProperty("java.vm.name")) + ",");
+            w.println("  \"os\": " + quote(System.getProperty("os.name") + " " + System.getProperty("os.arch")) + ",");
+            w.println("  \"cores\": " + Runtime.getRuntime().availableProcessors() + ",");
+            w.println(String.format("  \"settings\": {\"forks\": %d, \"warmups\": %d, \"iterations\": %d, \"iterationMs\": %d},",
+                    forks, warmups, iterations, iterationNanos / 1000000));
+            w.println("  \"results\": [");
+            for (int i = 0; i < results.size(); i++) {
+                w.println(results.get(i) + (i < results.size() - 1 ? "," : ""));
+            }
+            w.println("  ]");
+            w.println("}");
+        }
+        System.out.println("written to " + out);
+    }
+}
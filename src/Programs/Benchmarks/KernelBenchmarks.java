@@ -0,0 +1,309 @@
+package Programs.Benchmarks;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Helper.FastMath;
+import GxEngine3D.Helper.MatrixHelper;
+import GxEngine3D.Helper.VectorCalc;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Model.Matrix.AlgebraicMatrix;
+import GxEngine3D.Model.Matrix.Matrix;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Ordering.IOrderStrategy;
+import GxEngine3D.Ordering.OrderHistory;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.Ordering.SidedOrdering;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//the math, ordering and projection kernels the rest of the engine is built on
+//see BenchmarkRunner for the arguments, e.g. --filter ordering --out ordering.json
+public class KernelBenchmarks {
+
+    //inputs are cycled through rather than generated while timing, a power of two so the index is a mask
+    private static final int INPUTS = 1024, MASK = INPUTS - 1;
+    private static final int[] POLYGONS = {1000, 10000, 100000};
+
+    public static void main(String[] args) throws Exception
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        BenchmarkRunner.run(args, benchmarks(), KernelBenchmarks.class);
+    }
+
+    //always built in the same order, forked jvms are told which to run by index
+    public static List<Benchmark> benchmarks()
+    {
+        List<Benchmark> list = new ArrayList<>();
+        list.add(new Benchmark("matrix.matrixMultiply") {
+            Matrix a = new Matrix(MatrixHelper.setupFullRotation(0.3, 0.2, 0.1));
+            Matrix b = new Matrix(MatrixHelper.setupTranslateMatrix(1, 2, 3));
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += sum(a.matrixMultiply(b));
+                }
+                return s;
+            }
+        });
+        list.add(new Benchmark("matrix.pointMultiply") {
+            Matrix a = new Matrix(MatrixHelper.setupFullRotation(0.3, 0.2, 0.1));
+            double[][] points = rows(1, 4);
+
+            {
+                for (double[] p : points) {
+                    p[3] = 1;
+                }
+            }
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += sum(a.pointMultiply(points[i & MASK]));
+                }
+                return s;
+            }
+        });
+        list.add(new Benchmark("algebraic.gaussJordandElimination") {
+            //three random planes, which meet at a point
+            double[][] equations = rows(2, 4);
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    AlgebraicMatrix m = new AlgebraicMatrix(3, 4);
+                    //rows are changed in place so each op gets its own
+                    for (int r = 0; r < 3; r++) {
+                        m.addEqaution(equations[(i * 3 + r) & MASK].clone());
+                    }
+                    m.gaussJordandElimination();
+                    s += sum(m.getMatrix());
+                }
+                return s;
+            }
+        }.param("size", "3x4"));
+        list.add(new Benchmark("vector.add") {
+            double[][] v = rows(3, 3);
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += sum(VectorCalc.add(v[i & MASK], v[(i + 1) & MASK]));
+                }
+                return s;
+            }
+        });
+        list.add(new Benchmark("vector.dot") {
+            double[][] v = rows(3, 3);
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += VectorCalc.dot(v[i & MASK], v[(i + 1) & MASK]);
+                }
+                return s;
+            }
+        });
+        list.add(new Benchmark("vector.cross") {
+            double[][] v = rows(3, 3);
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += sum(VectorCalc.cross(v[i & MASK], v[(i + 1) & MASK]));
+                }
+                return s;
+            }
+        });
+        list.add(new Benchmark("vector.norm") {
+            double[][] v = rows(3, 3);
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    s += sum(VectorCalc.norm(v[i & MASK]));
+                }
+                return s;
+            }
+        });
+        for (final boolean fast : new boolean[]{true, false}) {
+            list.add(new Benchmark("math.sqrt") {
+                double[] x = values(4, 0, 100);
+
+                @Override
+                public double run(int ops) {
+                    double s = 0;
+                    for (int i = 0; i < ops; i++) {
+                        s += fast ? FastMath.sqrt(x[i & MASK]) : Math.sqrt(x[i & MASK]);
+                    }
+                    return s;
+                }
+            }.param("impl", fast ? "FastMath" : "Math"));
+            list.add(new Benchmark("math.atan2") {
+                double[] y = values(5, -1, 1), x = values(6, -1, 1);
+
+                @Override
+                public double run(int ops) {
+                    double s = 0;
+                    for (int i = 0; i < ops; i++) {
+                        s += fast ? FastMath.atan2(y[i & MASK], x[i & MASK]) : Math.atan2(y[i & MASK], x[i & MASK]);
+                    }
+                    return s;
+                }
+            }.param("impl", fast ? "FastMath" : "Math"));
+        }
+        for (final int n : POLYGONS) {
+            list.add(ordering(new OrderPolygon(), n));
+            list.add(ordering(new SidedOrdering(), n));
+        }
+        list.add(new Benchmark("polygon.updatePolygon") {
+            ViewHandler vH;
+            List<Polygon3D> polygons;
+            Light light;
+
+            @Override
+            public void setup() {
+                light = new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW));
+                Scene scene = new Scene(light, new OrderPolygon());
+                JPanel panel = new JPanel();
+                panel.setSize(800, 600);
+                vH = new ViewController().add(panel, new Camera(0, 0, 0), scene);
+                List<Cube> cubes = cubeField(7, 10000);
+                for (Cube c : cubes) {
+                    scene.addObject(c);
+                }
+                polygons = polygonsOf(cubes, 10000);
+                vH.update();
+            }
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                Camera c = vH.getCamera();
+                int n = polygons.size();
+                for (int i = 0; i < ops; i++) {
+                    s += polygons.get(i % n).updatePolygon(c, light, vH).getPolygon().npoints;
+                }
+                return s;
+            }
+        }.param("polygons", 10000));
+        return list;
+    }
+
+    //ordering a field of cubes from a camera that moves a little between ops
+    private static Benchmark ordering(final IOrderStrategy strategy, final int n)
+    {
+        return new Benchmark("ordering." + strategy.getClass().getSimpleName()) {
+            List<Polygon3D> polygons;
+            double[][] from = rows(8, 3);
+            int[] order;
+            OrderHistory history = new OrderHistory();
+
+            @Override
+            public void setup() {
+                //partitioning can split polygons, what it returns is what gets ordered
+                polygons = strategy.partition(polygonsOf(cubeField(9, n), n));
+            }
+
+            @Override
+            public double run(int ops) {
+                double s = 0;
+                for (int i = 0; i < ops; i++) {
+                    order = strategy.order(from[i & MASK], polygons, order, history);
+                    s += order[0];
+                }
+                return s;
+            }
+        }.param("polygons", n);
+    }
+
+    //enough cubes for the polygons in a loose grid in front of the camera with random turns, six polygons each
+    private static List<Cube> cubeField(long seed, int polygons)
+    {
+        Random random = new Random(seed);
+        int count = (polygons + 5) / 6;
+        int side = (int) Math.ceil(Math.cbrt(count));
+        List<Cube> cubes = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Cube c = new Cube(Color.WHITE);
+            c.init();
+            c.translate((i % side - side / 2) * 2, (i / side % side - side / 2) * 2, -3 - i / (side * side) * 2);
+            c.rotate(random.nextDouble(), random.nextDouble(), random.nextDouble());
+            c.update();
+            cubes.add(c);
+        }
+        return cubes;
+    }
+
+    //the first n polygons of the cubes
+    private static List<Polygon3D> polygonsOf(List<Cube> cubes, int n)
+    {
+        List<Polygon3D> list = new ArrayList<>();
+        for (Cube c : cubes) {
+            for (Polygon3D p : c.getShape()) {
+                if (list.size() < n) {
+                    list.add(p);
+                }
+            }
+        }
+        return list;
+    }
+
+    //every value of a result is used, otherwise only the ones read might be worked out
+    private static double sum(double[] v)
+    {
+        double s = 0;
+        for (double d : v) {
+            s += d;
+        }
+        return s;
+    }
+
+    private static double sum(double[][] m)
+    {
+        double s = 0;
+        for (double[] row : m) {
+            s += sum(row);
+        }
+        return s;
+    }
+
+    //INPUTS rows of random values between -10 and 10
+    private static double[][] rows(long seed, int width)
+    {
+        Random random = new Random(seed);
+        double[][] p = new double[INPUTS][width];
+        for (int i = 0; i < INPUTS; i++) {
+            for (int j = 0; j < width; j++) {
+                p[i][j] = random.nextDouble() * 20 - 10;
+            }
+        }
+        return p;
+    }
+
+    private static double[] values(long seed, double min, double max)
+    {
+        Random random = new Random(seed);
+        double[] v = new double[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            v[i] = min + random.nextDouble() * (max - min);
+        }
+        return v;
+    }
+}
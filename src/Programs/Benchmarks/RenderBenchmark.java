@@ -0,0 +1,183 @@
+package Programs.Benchmarks;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.FrameProfiler;
+import GxEngine3D.Controller.FrameProfiler.Stage;
+import GxEngine3D.Controller.GXController;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.Screen;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Scripting.SceneLoader;
+import Shapes.BaseShape;
+import Shapes.FakeSphere;
+import Shapes.IShape;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+//draws whole frames without a display, from loading the scene through SceneLoader to Screen drawing into an image
+//the camera circles each scene looking at its centre, the same path every run, so runs can be compared
+//arguments:
+//  --scenes <list>   comma separated, see SyntheticScene.parse, e.g. grid:10,cubes:500,circles:50
+//  --frames <n>      timed frames per scene, after as many again to warm up
+//  --size <w>x<h>    of the image drawn into
+//  --out <file>      where to write the json, render.json by default
+public class RenderBenchmark {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private String[] scenes = {"grid:5", "grid:10", "grid:20", "cubes:100", "cubes:500", "cubes:2000", "circles:10", "circles:50"};
+    private int frames = FrameProfiler.SAMPLES, width = 800, height = 600;
+    private String out = "render.json";
+
+    public static void main(String[] args) throws IOException
+    {
+        System.setProperty("java.awt.headless", "true");
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        RenderBenchmark b = new RenderBenchmark();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--scenes":
+                    b.scenes = args[++i].split(",");
+                    break;
+                case "--frames":
+                    b.frames = Integer.parseInt(args[++i]);
+                    break;
+                case "--size":
+                    String[] size = args[++i].split("x");
+                    b.width = Integer.parseInt(size[0]);
+                    b.height = Integer.parseInt(size[1]);
+                    break;
+                case "--out":
+                    b.out = args[++i];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown argument " + args[i]);
+            }
+        }
+        b.run();
+    }
+
+    private void run() throws IOException
+    {
+        System.out.println(String.format("%-12s %9s %9s %8s %8s %8s %8s %10s %6s %8s",
+                "scene", "polygons", "drawn", "fps", "p50 ms", "p95 ms", "p99 ms", "MB/s", "gcs", "gc ms"));
+        List<String> results = new ArrayList<>();
+        for (String spec : scenes) {
+            results.add(run(SyntheticScene.parse(spec)));
+        }
+        try (PrintWriter w = new PrintWriter(out, "UTF-8")) {
+            w.println("{");
+            w.println("  \"java\": \"" + System.getProperty("java.version") + "\",");
+            w.println("  \"cores\": " + Runtime.getRuntime().availableProcessors() + ",");
+            w.println(String.format("  \"settings\": {\"frames\": %d, \"width\": %d, \"height\": %d},", frames, width, height));
+            w.println("  \"results\": [");
+            for (int i = 0; i < results.size(); i++) {
+                w.println(results.get(i) + (i < results.size() - 1 ? "," : ""));
+            }
+            w.println("  ]");
+            w.println("}");
+        }
+        System.out.println("written to " + out);
+    }
+
+    private String run(SyntheticScene synthetic)
+    {
+        Camera camera = new Camera(0, 0, synthetic.getRadius());
+        Scene scene = new Scene(new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        //drawn the same way as on screen, only into an image
+        Screen screen = new Screen();
+        screen.setSize(width, height);
+        ViewController viewCon = new ViewController();
+        ViewHandler vH = viewCon.add(screen, camera, scene);
+        screen.setViewHandler(vH);
+        new SceneLoader(new GXController(viewCon)).load(vH, new StringReader(synthetic.getScript()), synthetic.getName());
+        BaseShape centre = (BaseShape) scene.getShapes().get(0);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        //warming up uses the same path so everything the timed frames need is already compiled
+        for (int f = 0; f < frames; f++) {
+            frame(f, synthetic, camera, centre, vH, screen, image);
+        }
+        FrameProfiler profiler = vH.getProfiler();
+        profiler.clear();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        //only this thread's allocations are counted, large scenes also allocate a little on the projection threads
+        long thread = Thread.currentThread().getId();
+        long bytes = threads.getThreadAllocatedBytes(thread);
+        long[] gc = gcTotals();
+        long start = System.nanoTime();
+        for (int f = 0; f < frames; f++) {
+            frame(f, synthetic, camera, centre, vH, screen, image);
+        }
+        //files the last frame away
+        profiler.endFrame();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        bytes = threads.getThreadAllocatedBytes(thread) - bytes;
+        long[] gcAfter = gcTotals();
+        long gcs = gcAfter[0] - gc[0], gcMs = gcAfter[1] - gc[1];
+        //the last frame's counts, shapes beyond the far plane are culled so not everything is drawn
+        int polygons = 0, drawn = scene.getStats(vH).getDrawn();
+        for (IShape s : scene.getShapes()) {
+            polygons += s.getShape().size();
+        }
+        double fps = frames / seconds, allocation = bytes / seconds / (1024 * 1024);
+
+        System.out.println(String.format(Locale.ROOT, "%-12s %9d %9d %8.1f %8.2f %8.2f %8.2f %10.1f %6d %8d",
+                synthetic.getName(), polygons, drawn, fps,
+                profiler.getPercentile(Stage.FRAME, 0.5) / 1e6,
+                profiler.getPercentile(Stage.FRAME, 0.95) / 1e6,
+                profiler.getPercentile(Stage.FRAME, 0.99) / 1e6,
+                allocation, gcs, gcMs));
+
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "    {\"scene\": \"%s\", \"polygons\": %d, \"drawn\": %d, \"fps\": %.2f, \"allocatedMBPerSecond\": %.2f, \"gcCount\": %d, \"gcMs\": %d, \"stages\": {",
+                synthetic.getName(), polygons, drawn, fps, allocation, gcs, gcMs));
+        for (int i = 0; i < STAGES.length; i++) {
+            Stage s = STAGES[i];
+            sb.append(String.format(Locale.ROOT, "%s\"%s\": {\"p50\": %.4f, \"p95\": %.4f, \"p99\": %.4f}",
+                    i > 0 ? ", " : "", s.getLabel(),
+                    profiler.getPercentile(s, 0.5) / 1e6, profiler.getPercentile(s, 0.95) / 1e6, profiler.getPercentile(s, 0.99) / 1e6));
+        }
+        return sb.append("}}").toString();
+    }
+
+    //one step along a full circle around the scene, a little above it
+    private void frame(int f, SyntheticScene synthetic, Camera camera, BaseShape centre,
+                       ViewHandler vH, Screen screen, BufferedImage image)
+    {
+        double angle = 2 * Math.PI * f / frames, r = synthetic.getRadius();
+        camera.MoveTo(Math.sin(angle) * r, r / 3, Math.cos(angle) * r);
+        camera.lookAt(centre);
+        vH.update();
+        Graphics2D g = image.createGraphics();
+        try {
+            screen.paint(g);
+        } finally {
+            g.dispose();
+        }
+    }
+
+    //collections and milliseconds spent collecting, over every collector
+    private static long[] gcTotals()
+    {
+        long count = 0, time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+}
@@ -0,0 +1,109 @@
+package Programs.Benchmarks;
+
+import java.util.Locale;
+import java.util.Random;
+
+//scene scripts made up on the spot, so benchmarks can be run at whatever size is wanted without files to keep
+//every scene is centred on the origin, starting with a cube there for the camera to look at
+public class SyntheticScene {
+
+    private String name;
+    private StringBuilder script = new StringBuilder();
+    //how far away the camera should circle to see the whole scene
+    private double radius;
+
+    private SyntheticScene(String name)
+    {
+        this.name = name;
+        shape("Shapes.Cube", "#FFFFFF", 0, 0, 0, 0, 0, 0);
+    }
+
+    //size by size cubes spaced out on the ground
+    public static SyntheticScene grid(int size)
+    {
+        SyntheticScene s = new SyntheticScene("grid:" + size);
+        for (int x = 0; x < size; x++) {
+            for (int z = 0; z < size; z++) {
+                s.shape("Shapes.Cube", (x + z) % 2 == 0 ? "#C04040" : "#4040C0",
+                        (x - size / 2.0) * 2 + 0.5, -2, (z - size / 2.0) * 2 + 0.5, 0, 0, 0);
+            }
+        }
+        s.radius = size + 4;
+        return s;
+    }
+
+    //count cubes of random colours turned any which way, scattered through a box that grows with the count
+    public static SyntheticScene cubes(int count, long seed)
+    {
+        SyntheticScene s = new SyntheticScene("cubes:" + count);
+        Random random = new Random(seed);
+        double half = Math.cbrt(count) * 1.5;
+        for (int i = 0; i < count; i++) {
+            s.shape("Shapes.Cube", colour(random), spread(random, half), spread(random, half), spread(random, half),
+                    random.nextDouble() * Math.PI, random.nextDouble() * Math.PI, random.nextDouble() * Math.PI);
+        }
+        s.radius = half + 4;
+        return s;
+    }
+
+    //count circles, each one a single polygon with hundreds of points
+    public static SyntheticScene circles(int count, long seed)
+    {
+        SyntheticScene s = new SyntheticScene("circles:" + count);
+        Random random = new Random(seed);
+        double half = Math.sqrt(count) * 2;
+        for (int i = 0; i < count; i++) {
+            s.shape("Shapes.Shape2D.Circle", colour(random), spread(random, half), spread(random, 2), spread(random, half),
+                    0, random.nextDouble() * Math.PI, 0);
+        }
+        s.radius = half + 4;
+        return s;
+    }
+
+    //parses names like grid:10, cubes:500 or circles:50, the same seed is always used so a name is always the same scene
+    public static SyntheticScene parse(String spec)
+    {
+        String[] parts = spec.split(":");
+        int n = Integer.parseInt(parts[1]);
+        switch (parts[0]) {
+            case "grid":
+                return grid(n);
+            case "cubes":
+                return cubes(n, n);
+            case "circles":
+                return circles(n, n);
+            default:
+                throw new IllegalArgumentException("Unknown scene " + spec);
+        }
+    }
+
+    private void shape(String className, String colour, double x, double y, double z, double pitch, double yaw, double roll)
+    {
+        script.append("new ").append(className).append(' ').append(colour).append('\n');
+        script.append("add /prev\n");
+        script.append(String.format(Locale.ROOT, "add /prev rotate %.4f %.4f %.4f\n", pitch, yaw, roll));
+        script.append(String.format(Locale.ROOT, "add /prev translate %.4f %.4f %.4f\n", x, y, z));
+    }
+
+    private static String colour(Random random)
+    {
+        return String.format("#%06X", random.nextInt(0x1000000));
+    }
+
+    private static double spread(Random random, double half)
+    {
+        return (random.nextDouble() * 2 - 1) * half;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getScript() {
+        return script.toString();
+    }
+
+    public double getRadius() {
+        return radius;
+    }
+}
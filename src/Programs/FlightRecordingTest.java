@@ -0,0 +1,96 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.FrameProfiler;
+import GxEngine3D.Controller.GXController;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Scripting.SceneLoader;
+import Shapes.BaseShape;
+import Shapes.FakeSphere;
+import Shapes.IShape;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+
+//loads and draws the default scene for a while with the engine's flight recorder events on, then with them off
+//prints how many of each event were recorded and how long frames took both ways
+public class FlightRecordingTest {
+
+    private static final int FRAMES = 200;
+
+    public static void main(String[] args) throws IOException
+    {
+        System.setProperty("java.awt.headless", "true");
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+
+        Recording recording = new Recording();
+        for (String name : new String[]{"GxEngine.Frame", "GxEngine.Split", "GxEngine.Order", "GxEngine.SceneLoad"}) {
+            recording.enable(name);
+        }
+        recording.start();
+        double recorded = run();
+        recording.stop();
+        File file = File.createTempFile("gxengine", ".jfr");
+        file.deleteOnExit();
+        recording.dump(file.toPath());
+        recording.close();
+
+        Map<String, Integer> counts = new TreeMap<>();
+        RecordedEvent lastFrame = null;
+        for (RecordedEvent e : RecordingFile.readAllEvents(file.toPath())) {
+            String name = e.getEventType().getName();
+            if (!name.startsWith("GxEngine.")) continue;
+            Integer c = counts.get(name);
+            counts.put(name, c == null ? 1 : c + 1);
+            if (name.equals("GxEngine.Frame")) {
+                lastFrame = e;
+            }
+        }
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            System.out.println(entry.getKey() + ": " + entry.getValue());
+        }
+        System.out.println(lastFrame);
+
+        double off = run();
+        System.out.println(String.format("recording: %.2fms per frame, not recording: %.2fms per frame", recorded, off));
+    }
+
+    private static double run()
+    {
+        Camera camera = new Camera(5, 5, 5);
+        Scene scene = new Scene(new Light(0, 1, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        scene.setSplitting(true);
+        JPanel panel = new JPanel();
+        panel.setSize(500, 500);
+        ViewController viewCon = new ViewController();
+        ViewHandler vH = viewCon.add(panel, camera, scene);
+        new SceneLoader(new GXController(viewCon)).load(vH, "/Resources/Scripts/default.scene");
+        camera.lookAt((BaseShape) scene.getShapes().get(0));
+        IShape moving = scene.getShapes().get(0);
+
+        BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+        for (int f = 0; f < FRAMES; f++) {
+            ((BaseShape) moving).rotate(0, 0.05, 0);
+            vH.update();
+            Graphics g = image.getGraphics();
+            long start = System.nanoTime();
+            vH.getRenderer().render(g, vH);
+            vH.getProfiler().add(FrameProfiler.Stage.DRAW, System.nanoTime() - start);
+            g.dispose();
+        }
+        return vH.getProfiler().getMean(FrameProfiler.Stage.FRAME) / 1e6;
+    }
+}
@@ -11,7 +11,7 @@ import GxEngine3D.Controller.GXController;
 import GxEngine3D.Controller.Scene;
 import DebugTools.TextOutput;
 import GxEngine3D.Lighting.Light;
-import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.Ordering.CoherentOrdering;
 import GxEngine3D.Ordering.SidedOrdering;
 import GxEngine3D.View.*;
 import GxEngine3D.View.PIP.PIPScreen;
@@ -46,8 +46,9 @@ public class GraphicsProgram {
 		FakeSphere light = new FakeSphere(Color.YELLOW);
 		Light ls = new Light(lightLocation[0], lightLocation[1], lightLocation[2], 10, light);
 
-		final Scene scene = new Scene(ls, new OrderPolygon());
+		final Scene scene = new Scene(ls, new CoherentOrdering());
 		scene.setSplitting(false);
+		scene.setBatchProjection(true);
 
 		ViewController viewCon = new ViewController();
 		PIPScreen panel1 = new PIPScreen();
@@ -73,7 +74,7 @@ public class GraphicsProgram {
 
 		//-----Picture in picture setup
 		vH01 = viewCon.add(panel1, camera1, scene);
-		gCon.add(vH01);
+		gCon.addFrameListener(vH01);
 		PIPView pip = new Screen(new int[]{0, 0});
 		pip.setViewHandler(vH01);
 		panel1.addView(pip);
@@ -86,7 +87,7 @@ public class GraphicsProgram {
 		gCon.add(camera4);
 		vH02 = viewCon.add(pipPanel, camera4, pipScene);
 		vH02.setHover(false);
-		gCon.add(vH02);
+		gCon.addFrameListener(vH02);
 		pip = new Screen(new int[]{0, 0});
 		pip.setViewHandler(vH02);
 		panel1.addView(pip);
@@ -166,9 +167,11 @@ public class GraphicsProgram {
 		}
 
 		lookCon.updateMenu(lookMenu, scene, actions);
-		while (true) {
-			gCon.update();
-		}
+		//the panel ignores repaints, frames are drawn straight from the render thread
+		//while animations and cameras tick at a steady rate on their own
+		gCon.setActiveRendering(true);
+		gCon.setFixedTimestep(60);
+		gCon.start();
 	}
 
 	public static void addListeners(JPanel p, GXController gCon)
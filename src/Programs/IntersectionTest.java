@@ -0,0 +1,182 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Helper.IntersectionCalc;
+import GxEngine3D.Helper.VectorCalc;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Model.Matrix.AlgebraicMatrix;
+import GxEngine3D.Model.Plane;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Random;
+
+//checks IntersectionCalc against the AlgebraicMatrix solver it replaced and times both
+public class IntersectionTest {
+
+    private static final int PAIRS = 2000;
+    private static final double TOLERANCE = 1e-6;
+
+    public static void main(String[] args)
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        Random random = new Random(7);
+        Polygon3D[] polys = new Polygon3D[PAIRS * 2];
+        for (int i = 0; i < polys.length; i++) {
+            polys[i] = randomQuad(random);
+        }
+
+        int lines = 0, lineMismatch = 0, edges = 0, edgeMismatch = 0;
+        double worst = 0;
+        for (int i = 0; i < PAIRS; i++) {
+            Polygon3D p1 = polys[i * 2], p2 = polys[i * 2 + 1];
+            AlgebraicMatrix m = matrixLine(p1, p2);
+            double[] line = IntersectionCalc.planePlane(IntersectionCalc.plane(p1), IntersectionCalc.plane(p2));
+            if ((m != null) != (line != null)) {
+                lineMismatch++;
+                continue;
+            }
+            if (line == null) continue;
+            lines++;
+            RefPoint3D[] shape = p1.getShape();
+            int ii, j;
+            for (ii = 0, j = shape.length - 1; ii < shape.length; j = ii++) {
+                edges++;
+                double[] expected = matrixEdge(shape[ii].toArray(), shape[j].toArray(), m);
+                double[] actual = IntersectionCalc.lineSegment(line, shape[ii], shape[j]);
+                if ((expected != null) != (actual != null)) {
+                    edgeMismatch++;
+                } else if (expected != null) {
+                    double d = Math.sqrt(VectorCalc.dot(VectorCalc.sub(expected, actual), VectorCalc.sub(expected, actual)));
+                    worst = Math.max(worst, d);
+                    if (d > TOLERANCE) edgeMismatch++;
+                }
+            }
+        }
+        System.out.println(PAIRS + " pairs, " + lines + " lines, " + lineMismatch + " disagree");
+        System.out.println(edges + " edges, " + edgeMismatch + " disagree, largest difference " + worst);
+
+        //both ways of working out a pair, as updateSplitting does before any split
+        for (int warm = 0; warm < 3; warm++) {
+            timeMatrix(polys);
+            timeDirect(polys);
+        }
+        long matrix = timeMatrix(polys), direct = timeDirect(polys);
+        System.out.println(String.format("matrix: %.2fus per pair", matrix / 1000.0 / PAIRS));
+        System.out.println(String.format("direct: %.3fus per pair", direct / 1000.0 / PAIRS));
+
+        splitScene(random);
+    }
+
+    //a scene of about 1000 polygons, loosely packed so some shapes overlap
+    private static void splitScene(Random random)
+    {
+        Scene scene = new Scene(new Light(0, 1, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        scene.setSplitting(true);
+        JPanel panel = new JPanel();
+        panel.setSize(400, 300);
+        ViewHandler vH = new ViewController().add(panel, new Camera(0, 0, 0), scene);
+        for (int i = 0; i < 167; i++) {
+            Cube c = new Cube(Color.WHITE);
+            c.init();
+            c.translate(random.nextDouble() * 30, random.nextDouble() * 30, random.nextDouble() * 30);
+            c.rotate(random.nextDouble(), random.nextDouble(), random.nextDouble());
+            scene.addObject(c);
+        }
+        //the first update collects the polygons and splits them
+        long start = System.nanoTime();
+        vH.update();
+        System.out.println(String.format("first update with splitting: %.1fms", (System.nanoTime() - start) / 1e6));
+        for (int i = 0; i < 5; i++) {
+            scene.updateSplitting();
+        }
+        start = System.nanoTime();
+        scene.updateSplitting();
+        System.out.println(String.format("splitting %d polygons: %.1fms", scene.getShapes().size() * 6, (System.nanoTime() - start) / 1e6));
+    }
+
+    private static long timeMatrix(Polygon3D[] polys)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < PAIRS; i++) {
+            AlgebraicMatrix m = matrixLine(polys[i * 2], polys[i * 2 + 1]);
+            if (m == null) continue;
+            RefPoint3D[] shape = polys[i * 2].getShape();
+            int ii, j;
+            for (ii = 0, j = shape.length - 1; ii < shape.length; j = ii++) {
+                matrixEdge(shape[ii].toArray(), shape[j].toArray(), m);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long timeDirect(Polygon3D[] polys)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < PAIRS; i++) {
+            double[] line = IntersectionCalc.planePlane(IntersectionCalc.plane(polys[i * 2]), IntersectionCalc.plane(polys[i * 2 + 1]));
+            if (line == null) continue;
+            RefPoint3D[] shape = polys[i * 2].getShape();
+            int ii, j;
+            for (ii = 0, j = shape.length - 1; ii < shape.length; j = ii++) {
+                IntersectionCalc.lineSegment(line, shape[ii], shape[j]);
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    //how Scene.updateSplitting used to find the line between two planes
+    private static AlgebraicMatrix matrixLine(Polygon3D p1, Polygon3D p2)
+    {
+        Plane plane01 = new Plane(p1), plane02 = new Plane(p2);
+        if (VectorCalc.v_v_equals(plane01.getNV().toArray(), plane02.getNV().toArray())) {
+            return null;
+        }
+        AlgebraicMatrix m = new AlgebraicMatrix(2, 4);
+        m.addEqautionOfPlane(plane01);
+        m.addEqautionOfPlane(plane02);
+        m.gaussJordandElimination();
+        m.determineSolution();
+        return m.getSolutionType() == AlgebraicMatrix.SolutionType.LINE ? m : null;
+    }
+
+    //how Scene.updateSplitting used to find where the line crossed an edge
+    private static double[] matrixEdge(double[] e1, double[] e2, AlgebraicMatrix lineIntersect)
+    {
+        AlgebraicMatrix edgeIntersect = new AlgebraicMatrix(lineIntersect.getRows() + 2, 4);
+        edgeIntersect.insertMatrix(lineIntersect);
+        edgeIntersect.addEqautionOfLine(e1, e2);
+        edgeIntersect.gaussJordandElimination();
+        edgeIntersect.determineSolution();
+        if (edgeIntersect.getSolutionType() != AlgebraicMatrix.SolutionType.POINT) return null;
+        double[] p = edgeIntersect.getPointSolution();
+        return VectorCalc.p3_in_line_seg(e1, e2, p) ? p : null;
+    }
+
+    //a square of random size and orientation
+    private static Polygon3D randomQuad(Random random)
+    {
+        double[] c = {random.nextDouble() * 4, random.nextDouble() * 4, random.nextDouble() * 4};
+        double[] u = VectorCalc.norm(new double[]{random.nextGaussian(), random.nextGaussian(), random.nextGaussian()});
+        double[] v = VectorCalc.norm(VectorCalc.cross(u, new double[]{random.nextGaussian(), random.nextGaussian(), random.nextGaussian()}));
+        double size = 0.5 + random.nextDouble() * 2;
+        RefPoint3D[] points = new RefPoint3D[4];
+        double[][] corners = {{-1, -1}, {1, -1}, {1, 1}, {-1, 1}};
+        for (int i = 0; i < 4; i++) {
+            points[i] = new RefPoint3D(
+                    c[0] + (u[0] * corners[i][0] + v[0] * corners[i][1]) * size,
+                    c[1] + (u[1] * corners[i][0] + v[1] * corners[i][1]) * size,
+                    c[2] + (u[2] * corners[i][0] + v[2] * corners[i][1]) * size);
+        }
+        return new Polygon3D(points, Color.WHITE, null);
+    }
+}
@@ -0,0 +1,56 @@
+package Programs;
+
+import DebugTools.Log;
+import DebugTools.TextModule.GlobalCategoryBlacklist;
+import DebugTools.TextOutput;
+import GxEngine3D.Model.Matrix.Matrix;
+
+//the cost of a log call whose category is turned off, through TextOutput.println and through a Log
+//then prints a few lines to show the filters still apply the same way
+public class LoggingBenchmark {
+
+    private static final Log LOG = Log.get(LoggingBenchmark.class);
+    private static final int CALLS = 200000;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        TextOutput.setMode(TextOutput.Mode.NORMAL);
+        TextOutput.setModule(new GlobalCategoryBlacklist(1, 2));
+        Matrix m = new Matrix(new double[][]{{1, 2}, {3, 4}});
+
+        for (int warm = 0; warm < 3; warm++) {
+            legacy(m);
+            facade(m);
+        }
+        System.out.println(String.format("TextOutput.println: %.1fns per call", legacy(m) / (double) CALLS));
+        System.out.println(String.format("Log.println: %.1fns per call", facade(m) / (double) CALLS));
+
+        //category 0 is still printed, 1 and 2 are not
+        LOG.println("printed", 0);
+        LOG.println("not printed", 1);
+        TextOutput.setModule(new GlobalCategoryBlacklist());
+        //loggers pick up the new module straight away
+        LOG.println("printed once the blacklist is empty", 1);
+        m.scale(0, 2);
+        //printing happens on another thread, give it a moment before exiting
+        Thread.sleep(100);
+    }
+
+    private static long legacy(Matrix m)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            TextOutput.println(m, 2);
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long facade(Matrix m)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            LOG.println(m, 2);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,83 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.FrameProfiler;
+import GxEngine3D.Controller.GXController;
+import GxEngine3D.Controller.IFrameListener;
+import GxEngine3D.Controller.ITickListener;
+import GxEngine3D.Controller.GXTickEvent;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import GxEngine3D.View.ViewHelper.ProfileOverlay;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+//runs a few hundred spinning cubes through the controller for a couple of seconds and prints the stage timings
+//frames are drawn into an image the way Screen draws them, since there is no screen to show them on
+public class ProfilerTest {
+
+    private static final int SHAPES = 300;
+    private static final long RUN = 2000;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        Scene scene = new Scene(new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        JPanel panel = new JPanel();
+        panel.setSize(640, 480);
+        ViewController viewCon = new ViewController();
+        final ViewHandler vH = viewCon.add(panel, new Camera(0, 0, 0), scene);
+        final List<Cube> cubes = new ArrayList<>();
+        for (int i = 0; i < SHAPES; i++) {
+            Cube c = new Cube(Color.WHITE);
+            c.init();
+            c.translate(i % 15 - 7, i / 15 % 5 - 2, -3 - i / 75 * 2);
+            scene.addObject(c);
+            cubes.add(c);
+        }
+        final BufferedImage image = new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+
+        GXController gCon = new GXController(viewCon);
+        gCon.add(new ITickListener() {
+            @Override
+            public void onTick(GXTickEvent.Type t) {
+                for (Cube c : cubes) {
+                    c.rotate(0, 0.02, 0.01);
+                }
+            }
+        });
+        gCon.addFrameListener(vH);
+        gCon.addFrameListener(new IFrameListener() {
+            @Override
+            public void onFrame(double alpha) {
+                Graphics g = image.getGraphics();
+                long start = System.nanoTime();
+                vH.getRenderer().render(g, vH);
+                vH.getProfiler().add(FrameProfiler.Stage.DRAW, System.nanoTime() - start);
+                g.dispose();
+            }
+        });
+        gCon.setMaxFPS(1000);
+        gCon.start();
+        Thread.sleep(RUN);
+        gCon.stop();
+
+        System.out.print(vH.getProfiler());
+        System.out.println(String.format("%.1f fps", gCon.getFPS()));
+        //the overlay should fit over the image without trouble
+        Graphics g = image.getGraphics();
+        ProfileOverlay.drawProfile(g, vH.getProfiler());
+        g.dispose();
+        System.exit(0);
+    }
+}
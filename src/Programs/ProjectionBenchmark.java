@@ -0,0 +1,112 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Model.Polygon2D;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+import Shapes.IShape;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+//times projecting a scene of about 50k polygons on one thread against every available thread
+//and checks both give the same polygons in the same order
+public class ProjectionBenchmark {
+
+    private static final int SIDE = 20, DEPTH = 21;
+    private static final int FRAMES = 20;
+
+    public static void main(String[] args)
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        Scene scene = new Scene(new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        JPanel panel = new JPanel();
+        panel.setSize(800, 600);
+        ViewHandler vH = new ViewController().add(panel, new Camera(0, 0, 0), scene);
+        for (int x = 0; x < SIDE; x++) {
+            for (int y = 0; y < SIDE; y++) {
+                for (int z = 0; z < DEPTH; z++) {
+                    Cube c = new Cube(Color.WHITE);
+                    c.init();
+                    c.translate(x - SIDE / 2, y - SIDE / 2, -2 - z);
+                    c.rotate(0.1 * x, 0.1 * y, 0.1 * z);
+                    scene.addObject(c);
+                }
+            }
+        }
+        //closed shapes would lose half their polygons before projecting, keep them all to have more to do
+        scene.setBackFaceCulling(false);
+        //a count can be given to try the parallel path on machines with fewer cores
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+
+        scene.setParallelism(1);
+        vH.update();
+        List<Polygon2D> serial = scene.getDrawable(vH);
+        scene.setParallelism(threads);
+        vH.update();
+        List<Polygon2D> parallel = scene.getDrawable(vH);
+        int mismatch = Math.abs(serial.size() - parallel.size());
+        for (int i = 0; i < Math.min(serial.size(), parallel.size()); i++) {
+            if (serial.get(i).getBelongsToPolygon() != parallel.get(i).getBelongsToPolygon()) mismatch++;
+        }
+        System.out.println(scene.getStats(vH));
+        System.out.println(mismatch + " polygons differ between serial and parallel");
+
+        for (int warm = 0; warm < 3; warm++) {
+            time(scene, vH, 1);
+            time(scene, vH, threads);
+        }
+        double one = time(scene, vH, 1), all = time(scene, vH, threads);
+        System.out.println(String.format("1 thread: %.1fms per frame", one));
+        System.out.println(String.format("%d threads: %.1fms per frame (%.1fx)", threads, all, one / all));
+
+        //steady frames should allocate next to nothing, the camera is left still so only projecting happens
+        scene.setParallelism(1);
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long id = Thread.currentThread().getId();
+        long before = bean.getThreadAllocatedBytes(id);
+        time(scene, vH, 1);
+        long bytes = (bean.getThreadAllocatedBytes(id) - before) / FRAMES;
+        System.out.println(String.format("allocated per frame: %.1fkB", bytes / 1024.0));
+
+        //turning every shape means each polygon's lighting plane and normal are recalculated too
+        List<IShape> shapes = scene.getShapes();
+        for (int warm = 0; warm < 3; warm++) {
+            turn(scene, vH, shapes);
+        }
+        before = bean.getThreadAllocatedBytes(id);
+        double ms = turn(scene, vH, shapes);
+        bytes = (bean.getThreadAllocatedBytes(id) - before) / FRAMES;
+        System.out.println(String.format("every shape turning: %.1fms, allocated per frame: %.1fkB", ms, bytes / 1024.0));
+    }
+
+    private static double turn(Scene scene, ViewHandler vH, List<IShape> shapes)
+    {
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            for (IShape s : shapes) {
+                ((Cube) s).rotate(0, 0.01, 0);
+            }
+            vH.update();
+        }
+        return (System.nanoTime() - start) / 1e6 / FRAMES;
+    }
+
+    private static double time(Scene scene, ViewHandler vH, int threads)
+    {
+        scene.setParallelism(threads);
+        long start = System.nanoTime();
+        for (int i = 0; i < FRAMES; i++) {
+            vH.update();
+        }
+        return (System.nanoTime() - start) / 1e6 / FRAMES;
+    }
+}
@@ -0,0 +1,85 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+import Shapes.IShape;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+//a scene of static cubes with one spinning, against the same scene with every cube spinning
+//only shapes that were changed should be transformed again
+public class ShapeUpdateBenchmark {
+
+    private static final int SHAPES = 4000;
+    private static final int FRAMES = 50;
+
+    public static void main(String[] args)
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        Scene scene = new Scene(new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+        JPanel panel = new JPanel();
+        panel.setSize(400, 300);
+        ViewHandler vH = new ViewController().add(panel, new Camera(0, 0, 0), scene);
+        //far behind the camera so the frame is all updating and nothing is projected
+        for (int i = 0; i < SHAPES; i++) {
+            Cube c = new Cube(Color.WHITE);
+            c.init();
+            c.translate(i % 40, i / 40 % 10, 50 + i / 400);
+            scene.addObject(c);
+        }
+        if (args.length > 0) {
+            scene.setParallelism(Integer.parseInt(args[0]));
+        }
+        vH.update();
+        List<IShape> shapes = scene.getShapes();
+
+        for (int warm = 0; warm < 3; warm++) {
+            time(scene, vH, shapes, 1);
+            time(scene, vH, shapes, shapes.size());
+        }
+        report("1 spinning", scene, vH, shapes, 1);
+        report(shapes.size() + " spinning", scene, vH, shapes, shapes.size());
+    }
+
+    private static void report(String name, Scene scene, ViewHandler vH, List<IShape> shapes, int moving)
+    {
+        int[] before = versions(shapes);
+        double ms = time(scene, vH, shapes, moving);
+        int[] after = versions(shapes);
+        int updated = 0;
+        for (int i = 0; i < shapes.size(); i++) {
+            if (before[i] != after[i]) updated++;
+        }
+        System.out.println(String.format("%s: %.2fms per frame, %d shapes transformed", name, ms, updated));
+    }
+
+    private static double time(Scene scene, ViewHandler vH, List<IShape> shapes, int moving)
+    {
+        long start = System.nanoTime();
+        for (int f = 0; f < FRAMES; f++) {
+            for (int i = 0; i < moving; i++) {
+                ((Cube) shapes.get(i)).rotate(0, 0.01, 0);
+            }
+            vH.update();
+        }
+        return (System.nanoTime() - start) / 1e6 / FRAMES;
+    }
+
+    private static int[] versions(List<IShape> shapes)
+    {
+        int[] v = new int[shapes.size()];
+        for (int i = 0; i < v.length; i++) {
+            v[i] = shapes.get(i).getTransformVersion();
+        }
+        return v;
+    }
+}
@@ -0,0 +1,94 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Controller.SplitCache;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+import Shapes.BaseShape;
+import Shapes.Cube;
+import Shapes.IShape;
+import Shapes.Plane.InfiniteGrid;
+import Shapes.Prism;
+import Shapes.Pyramid;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//adds, removes and moves shapes, splitting only what changed each time
+//every result should be exactly what splitting all of the shapes from scratch gives
+public class SplitCacheTest {
+
+    private static final int MOVES = 20;
+
+    public static void main(String[] args)
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        Random random = new Random(2);
+        List<IShape> shapes = new ArrayList<>();
+        InfiniteGrid grid = new InfiniteGrid(Color.GRAY, 40);
+        grid.init();
+        shapes.add(grid);
+        for (int i = 0; i < 12; i++) {
+            shapes.add(shape(i, random));
+        }
+        SplitCache cache = new SplitCache();
+        boolean passed = compare("first", cache, shapes);
+
+        for (int i = 0; i < 5; i++) {
+            shapes.add(shape(i, random));
+            passed &= compare("add", cache, shapes);
+        }
+        shapes.remove(1);
+        passed &= compare("remove", cache, shapes);
+        for (int i = 0; i < MOVES; i++) {
+            BaseShape s = (BaseShape) shapes.get(1 + random.nextInt(shapes.size() - 1));
+            s.translate(random.nextDouble() - 0.5, 0, random.nextDouble() - 0.5);
+            s.rotate(0, random.nextDouble() * 0.5, 0);
+            s.update();
+            passed &= compare("move", cache, shapes);
+        }
+        System.out.println(passed ? "passed" : "FAILED");
+    }
+
+    private static BaseShape shape(int i, Random random)
+    {
+        BaseShape s = i % 3 == 0 ? new Cube(Color.RED) : i % 3 == 1 ? new Pyramid(Color.GREEN) : new Prism(Color.BLUE);
+        s.init();
+        s.scale(2, 2, 2);
+        s.translate(random.nextDouble() * 16 - 8, -0.7, random.nextDouble() * 16 - 8);
+        s.rotate(random.nextDouble(), random.nextDouble(), 0);
+        s.update();
+        return s;
+    }
+
+    private static boolean compare(String name, SplitCache cache, List<IShape> shapes)
+    {
+        long start = System.nanoTime();
+        List<Polygon3D> incremental = cache.split(shapes);
+        long incrementalTime = System.nanoTime() - start;
+        start = System.nanoTime();
+        List<Polygon3D> full = new SplitCache().split(shapes);
+        long fullTime = System.nanoTime() - start;
+
+        boolean same = incremental.size() == full.size();
+        for (int i = 0; i < incremental.size() && same; i++) {
+            same = same(incremental.get(i), full.get(i));
+        }
+        System.out.println(String.format("%-7s %d fragments, %d split again in %.1fms, full split %d fragments in %.1fms%s",
+                name, incremental.size(), cache.getResplit(), incrementalTime / 1e6, full.size(), fullTime / 1e6,
+                same ? "" : "  DIFFERENT"));
+        return same;
+    }
+
+    private static boolean same(Polygon3D a, Polygon3D b)
+    {
+        RefPoint3D[] p = a.getShape(), q = b.getShape();
+        if (p.length != q.length) return false;
+        for (int i = 0; i < p.length; i++) {
+            if (p[i].X() != q[i].X() || p[i].Y() != q[i].Y() || p[i].Z() != q[i].Z()) return false;
+        }
+        return true;
+    }
+}
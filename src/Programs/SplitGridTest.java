@@ -0,0 +1,98 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Controller.PolygonSplitter;
+import GxEngine3D.Model.Polygon3D;
+import GxEngine3D.Model.RefPoint3D;
+import Shapes.BaseShape;
+import Shapes.Cube;
+import Shapes.Plane.InfiniteGrid;
+import Shapes.Prism;
+import Shapes.Pyramid;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+//splits the same polygons with the grid broad phase and by comparing every pair, both should give exactly the same fragments
+public class SplitGridTest {
+
+    public static void main(String[] args)
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        boolean passed = true;
+
+        //scattered cubes, most polygons are nowhere near each other
+        Random random = new Random(1);
+        List<BaseShape> cubes = new ArrayList<>();
+        for (int i = 0; i < 167; i++) {
+            Cube c = new Cube(Color.WHITE);
+            c.init();
+            c.translate(random.nextDouble() * 30, random.nextDouble() * 30, random.nextDouble() * 30);
+            c.rotate(random.nextDouble(), random.nextDouble(), random.nextDouble());
+            cubes.add(c);
+        }
+        passed &= compare("scattered cubes", cubes);
+
+        //shapes resting on a floor made of many small squares, so every shape cuts through several of them
+        random = new Random(2);
+        List<BaseShape> floor = new ArrayList<>();
+        InfiniteGrid grid = new InfiniteGrid(Color.GRAY, 40);
+        grid.init();
+        floor.add(grid);
+        for (int i = 0; i < 12; i++) {
+            BaseShape s = i % 3 == 0 ? new Cube(Color.RED) : i % 3 == 1 ? new Pyramid(Color.GREEN) : new Prism(Color.BLUE);
+            s.init();
+            s.scale(2, 2, 2);
+            s.translate(random.nextDouble() * 16 - 8, -0.7, random.nextDouble() * 16 - 8);
+            s.rotate(random.nextDouble(), random.nextDouble(), 0);
+            floor.add(s);
+        }
+        passed &= compare("shapes on a grid", floor);
+
+        System.out.println(passed ? "passed" : "FAILED");
+    }
+
+    private static boolean compare(String name, List<BaseShape> shapes)
+    {
+        List<Polygon3D> source = new ArrayList<>();
+        for (BaseShape s : shapes) {
+            s.update();
+            source.addAll(s.getShape());
+        }
+        PolygonSplitter splitter = new PolygonSplitter();
+        long start = System.nanoTime();
+        List<Polygon3D> grid = splitter.split(source);
+        long gridTime = System.nanoTime() - start;
+
+        splitter.setAllPairs(true);
+        start = System.nanoTime();
+        List<Polygon3D> allPairs = splitter.split(source);
+        long allPairsTime = System.nanoTime() - start;
+
+        System.out.println(String.format("%s: %d polygons, grid %d fragments in %.1fms, all pairs %d fragments in %.1fms",
+                name, source.size(), grid.size(), gridTime / 1e6, allPairs.size(), allPairsTime / 1e6));
+        if (grid.size() != allPairs.size()) {
+            System.out.println("    different number of fragments");
+            return false;
+        }
+        for (int i = 0; i < grid.size(); i++) {
+            if (!same(grid.get(i), allPairs.get(i))) {
+                System.out.println("    fragment " + i + " is different");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean same(Polygon3D a, Polygon3D b)
+    {
+        RefPoint3D[] p = a.getShape(), q = b.getShape();
+        if (p.length != q.length) return false;
+        for (int i = 0; i < p.length; i++) {
+            if (p[i].X() != q[i].X() || p[i].Y() != q[i].Y() || p[i].Z() != q[i].Z()) return false;
+        }
+        return true;
+    }
+}
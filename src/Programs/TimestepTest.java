@@ -0,0 +1,75 @@
+package Programs;
+
+import DebugTools.TextOutput;
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.GXController;
+import GxEngine3D.Controller.GXTickEvent;
+import GxEngine3D.Controller.IFrameListener;
+import GxEngine3D.Controller.ITickListener;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Shapes.Cube;
+import Shapes.FakeSphere;
+
+import javax.swing.*;
+import java.awt.*;
+
+//moves a cube at a fixed speed while frames are made slow on purpose
+//the cube should cover the same distance however slow the frames are, and be drawn close to where the simulation has it
+public class TimestepTest {
+
+    private static final double TICKS = 60, SPEED = 1;
+    private static final long RUN = 2000;
+
+    public static void main(String[] args) throws InterruptedException
+    {
+        TextOutput.setMode(TextOutput.Mode.REMOVED);
+        for (final int frameCost : new int[]{0, 50}) {
+            Scene scene = new Scene(new Light(0, 10, 0, 10, new FakeSphere(Color.YELLOW)), new OrderPolygon());
+            JPanel panel = new JPanel();
+            panel.setSize(400, 300);
+            ViewController viewCon = new ViewController();
+            final ViewHandler vH = viewCon.add(panel, new Camera(0, 0, 5), scene);
+            final Cube cube = new Cube(Color.WHITE);
+            cube.init();
+            scene.addObject(cube);
+
+            GXController gCon = new GXController(viewCon);
+            final int[] ticks = {0}, frames = {0};
+            final double[] worstLag = {0};
+            gCon.add(new ITickListener() {
+                @Override
+                public void onTick(GXTickEvent.Type t) {
+                    cube.translate(SPEED / TICKS, 0, 0);
+                    ticks[0]++;
+                }
+            });
+            gCon.addFrameListener(vH);
+            gCon.addFrameListener(new IFrameListener() {
+                @Override
+                public void onFrame(double alpha) {
+                    //how far behind the simulation the drawn cube is, in steps
+                    double drawn = cube.getBounds().getMinX();
+                    double simulated = ticks[0] * SPEED / TICKS;
+                    worstLag[0] = Math.max(worstLag[0], (simulated - drawn) / (SPEED / TICKS));
+                    frames[0]++;
+                    try {
+                        Thread.sleep(frameCost);
+                    } catch (InterruptedException e) {
+                        e.printStackTrace();
+                    }
+                }
+            });
+            gCon.setFixedTimestep(TICKS);
+            gCon.start();
+            Thread.sleep(RUN);
+            gCon.stop();
+            System.out.println(String.format("%dms per frame: %d ticks, %d frames, moved %.2f (expected %.2f), drawn up to %.1f steps behind",
+                    frameCost, ticks[0], frames[0], cube.findCentre()[0] - 0.5, RUN / 1000.0 * SPEED, worstLag[0]));
+        }
+        System.exit(0);
+    }
+}
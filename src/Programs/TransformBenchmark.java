@@ -0,0 +1,99 @@
+package Programs;
+
+import GxEngine3D.Helper.MatrixHelper;
+import GxEngine3D.Model.Matrix.Mat4;
+import GxEngine3D.Model.Matrix.Matrix;
+
+import java.util.Random;
+
+//throughput of transforming points one at a time against the batch paths over whole arrays
+//run with and without --add-modules jdk.incubator.vector to compare the plain loops with the vector api
+public class TransformBenchmark {
+
+    private static final int[] SIZES = {10000, 100000, 1000000};
+    //roughly how many points to push through each path per timed run
+    private static final long WORK = 20000000;
+
+    private static double sink = 0;
+
+    public static void main(String[] args)
+    {
+        Mat4 m = new Mat4().setYaw(0.3);
+        Mat4.multiply(m, new Mat4().setPitch(0.2), m);
+        Mat4.multiply(new Mat4().setTranslate(1, 2, -5), m, m);
+        Matrix old = new Matrix(MatrixHelper.setupIdentityMatrix());
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 4; c++) {
+                old.getMatrix()[r][c] = m.get(r, c);
+            }
+        }
+
+        //the vector api path is only used when run with --add-modules jdk.incubator.vector
+        int lanes = Mat4.getBatchLanes();
+        System.out.println(lanes == 1 ? "batch paths: plain loops" : "batch paths: vector api, " + lanes + " lanes");
+
+        Random random = new Random(42);
+        for (int n : SIZES) {
+            double[] x = new double[n], y = new double[n], z = new double[n];
+            double[] outX = new double[n], outY = new double[n], outZ = new double[n], outW = new double[n];
+            for (int i = 0; i < n; i++) {
+                x[i] = random.nextDouble() * 10 - 5;
+                y[i] = random.nextDouble() * 10 - 5;
+                z[i] = random.nextDouble() * 10 - 5;
+            }
+            int reps = (int) Math.max(3, WORK / n);
+
+            //warm up every path first so they all get compiled
+            for (int i = 0; i < 3; i++) {
+                perPoint(old, x, y, z, outX, outY, outZ, n, reps);
+                batch(m, x, y, z, outX, outY, outZ, outW, n, reps, false);
+                batch(m, x, y, z, outX, outY, outZ, outW, n, reps, true);
+            }
+            System.out.println(n + " points");
+            report("    per point", perPoint(old, x, y, z, outX, outY, outZ, n, reps), n, reps);
+            report("    batch transform", batch(m, x, y, z, outX, outY, outZ, outW, n, reps, false), n, reps);
+            report("    batch project", batch(m, x, y, z, outX, outY, outZ, outW, n, reps, true), n, reps);
+        }
+        //stops the results being optimised away
+        System.out.println("(" + sink + ")");
+    }
+
+    //the way BaseShape used to transform points
+    private static long perPoint(Matrix m, double[] x, double[] y, double[] z,
+                                 double[] outX, double[] outY, double[] outZ, int n, int reps)
+    {
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            for (int i = 0; i < n; i++) {
+                double[] p = m.pointMultiply(new double[]{x[i], y[i], z[i]});
+                p = new double[]{p[0] / p[3], p[1] / p[3], p[2] / p[3]};
+                outX[i] = p[0];
+                outY[i] = p[1];
+                outZ[i] = p[2];
+            }
+            sink += outX[r % n];
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static long batch(Mat4 m, double[] x, double[] y, double[] z,
+                              double[] outX, double[] outY, double[] outZ, double[] outW, int n, int reps, boolean project)
+    {
+        long start = System.nanoTime();
+        for (int r = 0; r < reps; r++) {
+            if (project) {
+                m.clipPoints(x, y, z, outX, outY, outZ, outW, n);
+            } else {
+                m.transformPoints(x, y, z, outX, outY, outZ, n);
+            }
+            sink += outX[r % n];
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String name, long nanos, int n, int reps)
+    {
+        double perSecond = (double) n * reps / (nanos / 1e9);
+        System.out.println(String.format("%s: %.1f million vertices/s", name, perSecond / 1e6));
+    }
+}
@@ -0,0 +1,94 @@
+package Programs;
+
+import GxEngine3D.Camera.Camera;
+import GxEngine3D.Controller.GXController;
+import GxEngine3D.Controller.Scene;
+import GxEngine3D.Lighting.Light;
+import GxEngine3D.Ordering.OrderPolygon;
+import GxEngine3D.Rendering.IRenderStrategy;
+import GxEngine3D.Rendering.PainterRendering;
+import GxEngine3D.Rendering.TiledRendering;
+import GxEngine3D.Rendering.ZBufferRendering;
+import GxEngine3D.View.ViewController;
+import GxEngine3D.View.ViewHandler;
+import Scripting.SceneLoader;
+import Shapes.BaseShape;
+import Shapes.FakeSphere;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+//renders the default scene with the painter, depth buffer and tiled paths and compares the output
+public class ZBufferTest {
+    public static void main(String[] args)
+    {
+        System.setProperty("java.awt.headless", "true");
+
+        Camera camera = new Camera(5, 5, 5);
+        Light ls = new Light(0, 1, 0, 10, new FakeSphere(Color.YELLOW));
+        Scene scene = new Scene(ls, new OrderPolygon());
+
+        JPanel panel = new JPanel();
+        panel.setSize(500, 500);
+
+        ViewController viewCon = new ViewController();
+        GXController gCon = new GXController(viewCon);
+        ViewHandler vH = viewCon.add(panel, camera, scene);
+
+        SceneLoader loader = new SceneLoader(gCon);
+        loader.load(vH, "/Resources/Scripts/default.scene");
+        camera.lookAt((BaseShape) scene.getShapes().get(0));
+        vH.update();
+
+        BufferedImage painter = render(vH, new PainterRendering());
+        BufferedImage zBuffer = render(vH, new ZBufferRendering());
+        BufferedImage tiled = render(vH, new TiledRendering());
+
+        System.out.println("Painter against depth buffer");
+        compare(painter, zBuffer);
+        System.out.println("Depth buffer against tiled");
+        compare(zBuffer, tiled);
+    }
+
+    private static void compare(BufferedImage painter, BufferedImage zBuffer)
+    {
+        int w = painter.getWidth(), h = painter.getHeight();
+        int different = 0, unmatched = 0;
+        for (int y = 0; y < h; y++) {
+            for (int x = 0; x < w; x++) {
+                if (painter.getRGB(x, y) != zBuffer.getRGB(x, y)) {
+                    different++;
+                    //edges are allowed to land a pixel either way
+                    if (!matchesNear(painter, zBuffer.getRGB(x, y), x, y)) {
+                        unmatched++;
+                    }
+                }
+            }
+        }
+        System.out.println("Different pixels: " + different + " / " + (w * h));
+        System.out.println("Different beyond 1 pixel: " + unmatched + " (" + (100.0 * unmatched / (w * h)) + "%)");
+    }
+
+    private static BufferedImage render(ViewHandler vH, IRenderStrategy r)
+    {
+        BufferedImage image = new BufferedImage(vH.getView().getWidth(), vH.getView().getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics g = image.getGraphics();
+        r.render(g, vH);
+        g.dispose();
+        return image;
+    }
+
+    private static boolean matchesNear(BufferedImage image, int rgb, int x, int y)
+    {
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+                int nx = x + dx, ny = y + dy;
+                if (nx >= 0 && ny >= 0 && nx < image.getWidth() && ny < image.getHeight() && image.getRGB(nx, ny) == rgb) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
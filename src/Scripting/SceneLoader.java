@@ -1,5 +1,6 @@
 package Scripting;
 
+import DebugTools.Events.SceneLoadEvent;
 import DebugTools.TextOutput;
 import GxEngine3D.Animation.Animator;
 import GxEngine3D.Animation.Routines.IRoutine;
@@ -13,6 +14,7 @@ import Shapes.IManipulable;
 import java.awt.*;
 import java.io.*;
 import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
@@ -27,6 +29,8 @@ public class SceneLoader {
 
     HashMap<String, Object> references = new HashMap<>();
     Object previous = null;
+    //shapes added to the scene by the current load
+    int added;
 
     GXController controller;
 
@@ -35,21 +39,33 @@ public class SceneLoader {
         controller = c;
     }
 
+    //fileName is a resource on the classpath
     public void load(ViewHandler vH, String fileName)
     {
-        File file = new File(getClass().getResource(fileName).getFile());
+        InputStream in = getClass().getResourceAsStream(fileName);
+        if (in == null) {
+            new FileNotFoundException(fileName).printStackTrace();
+            return;
+        }
+        load(vH, new InputStreamReader(in, StandardCharsets.UTF_8), fileName);
+    }
+
+    //reads a script from anywhere, like one made by a program, source only names it
+    public void load(ViewHandler vH, Reader reader, String source)
+    {
+        SceneLoadEvent event = new SceneLoadEvent();
+        event.begin();
         this.vH = vH;
         pos = 0;
+        added = 0;
         tokens = new ArrayList<>();
 
-        try(BufferedReader br = new BufferedReader(new FileReader(file))) {
+        try(BufferedReader br = new BufferedReader(reader)) {
             for(String line; (line = br.readLine()) != null; ) {
                 String[] args = line.split(" ");
                 tokens.addAll(Arrays.asList(args));
                 tokens.add("\n");
             }
-        } catch (FileNotFoundException e) {
-            e.printStackTrace();
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -73,6 +89,12 @@ public class SceneLoader {
             }
             t = nextToken();
         }
+        if (event.shouldCommit()) {
+            event.source = source;
+            event.tokens = tokens.size();
+            event.shapes = added;
+            event.commit();
+        }
     }
 
     public String nextToken()
@@ -153,6 +175,7 @@ public class SceneLoader {
         {
             vH.getScene().addObject((BaseShape) o);
             ((BaseShape) o).init();
+            added++;
         }
     }
 
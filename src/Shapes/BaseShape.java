@@ -6,13 +6,14 @@ import java.awt.Polygon;
 import java.util.ArrayList;
 
 import DebugTools.TextOutput;
-import GxEngine3D.Helper.MatrixHelper;
-import GxEngine3D.Helper.VectorCalc;
 import GxEngine3D.Lighting.AltLighting;
 import GxEngine3D.Lighting.ILightingStrategy;
-import GxEngine3D.Model.Matrix.Matrix;
+import GxEngine3D.Model.Bounds;
+import GxEngine3D.Model.Matrix.Mat4;
+import GxEngine3D.Model.Matrix.Pose;
 import GxEngine3D.Model.Polygon3D;
 import GxEngine3D.Model.RefPoint3D;
+import GxEngine3D.Model.VertexBuffer;
 import Shapes.Split.ISplitStrategy;
 import Shapes.Split.SplitIntoTriangles;
 
@@ -25,18 +26,34 @@ import Shapes.Split.SplitIntoTriangles;
 public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 
 	//information about the shapes current transformations
+	//only changed or read while holding the shape's lock, frames read them only until the first pose is published
 	protected double pitch = 0, yaw = 0, roll = 0, x = 0, y = 0, z = 0, sX = 1, sY = 1, sZ = 1;
-	Matrix scale, rotation, translation, combined;
+	Mat4 scale = new Mat4(), rotation = new Mat4(), translation = new Mat4(), combined = new Mat4();
+	//scratch space for building rotations
+	private Mat4 step = new Mat4(), absolute = new Mat4();
 
 	protected Color c;
 
 	static int id = 0;
 	int curId;
 	private boolean needsUpdate = true, init = false;
+	private volatile int transformVersion = 0;
+	private ArrayList<IShapeListener> listeners = new ArrayList<>();
+	//counts every change to the transform, so publishing can tell whether there is a new pose
+	private int changes = 0, publishedChanges = 0;
+	//the last published pose, null while nothing has been published
+	private Mat4 pose;
+	//the last two poses as parts, blended part by part while interpolating and then rebuilt into combined
+	private Pose poseParts, previousParts, blendedParts;
+	private double alpha = 1;
+	//whether the shape moved in the last step, otherwise the two poses are the same
+	private boolean interpolating = false;
 
 	//stores the points relative to each other
-	protected ArrayList<double[]> relativePoints = new ArrayList<double[]>();
-	//stores the points after matrix transforms
+	protected VertexBuffer relativePoints = new VertexBuffer(8);
+	//stores the points after matrix transforms, the RefPoint3Ds in points are views into it
+	protected VertexBuffer vertices = new VertexBuffer(8);
+	protected Bounds bounds = new Bounds();
 	protected ArrayList<RefPoint3D> points = new ArrayList<RefPoint3D>();
 
 	protected ArrayList<RefPoint3D[]> edges = new ArrayList<RefPoint3D[]>();
@@ -52,15 +69,7 @@ public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 	public BaseShape(Color c) {
 		this.c = c;
 
-		double[][] identity = MatrixHelper.setupIdentityMatrix();
-
-		scale = new Matrix(4, 4);
-		scale.insertMatrix(identity);
-		translation = new Matrix(4, 4);
-		translation.insertMatrix(identity);
-		anchor = new double[3];;
-
-		rotation = new Matrix(MatrixHelper.setupPitchRotation(0));
+		anchor = new double[3];
 
 		curId = BaseShape.id++;
 		lighting = new AltLighting();
@@ -76,11 +85,17 @@ public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 	public ArrayList<RefPoint3D> getPoints() {
 		return points;
 	}
+	public VertexBuffer getVertices() {
+		return vertices;
+	}
+	public Bounds getBounds() {
+		return bounds;
+	}
 
 	protected void addPoint(double[] p)
 	{
-		relativePoints.add(p);
-		points.add(new RefPoint3D(p));
+		relativePoints.add(p[0], p[1], p[2]);
+		points.add(new RefPoint3D(vertices, vertices.add(p[0], p[1], p[2])));
 	}
 	protected void addEdge(RefPoint3D[] edge)
 	{
@@ -91,14 +106,35 @@ public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 		polys.add(new Polygon3D(poly, c, this));
 	}
 
-	protected void scheduleUpdate()
+	protected synchronized void scheduleUpdate()
+	{
+		changes++;
+		markForUpdate();
+	}
+
+	private void markForUpdate()
 	{
 		//set global update flag
 		if (!needsUpdate) {
 			needsUpdate = true;
+			for (int i = 0; i < listeners.size(); i++) {
+				listeners.get(i).onScheduleUpdate(this);
+			}
 		}
 	}
 
+	public synchronized void addListener(IShapeListener l)
+	{
+		if (!listeners.contains(l)) {
+			listeners.add(l);
+		}
+	}
+
+	public synchronized void removeListener(IShapeListener l)
+	{
+		listeners.remove(l);
+	}
+
 	public void init()
 	{
 		if (!init)
@@ -112,148 +148,136 @@ public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 		}
 	}
 
-	public void translate(double x, double y, double z)
+	public synchronized void translate(double x, double y, double z)
 	{
 		if (x != 0 || y != 0 || z != 0)
 		{
 			this.x += x; this.y += y; this.z += z;
-			translation = new Matrix(MatrixHelper.setupTranslateMatrix(this.x, this.y, this.z));
+			translation.setTranslate(this.x, this.y, this.z);
 			scheduleUpdate();
 		}
 	}
 
 	@Override
-	public void absoluteTranslate(double x, double y, double z) {
+	public synchronized void absoluteTranslate(double x, double y, double z) {
 		//if something is different
 		if (this.x != x || this.y != y || this.z != z) {
 			this.x = x; this.y = y; this.z = z;
-			translation = new Matrix(MatrixHelper.setupTranslateMatrix(x, y, z));
+			translation.setTranslate(x, y, z);
 			scheduleUpdate();
 		}
 	}
 
-	public void scale(double x, double y, double z)
+	public synchronized void scale(double x, double y, double z)
 	{
 		//the check is about as expensive as remaking the matrix
 		this.sX += x; this.sY += y; this.sZ += z;
-		double[][] scale = new double[4][4];
-		scale[0][0] = x;
-		scale[1][1] = y;
-		scale[2][2] = z;
-		scale[3][3] = 1;
-		this.scale = new Matrix(this.scale.scaleMatrix(scale));
+		Mat4.multiply(this.scale, step.setScale(x, y, z), this.scale);
 		scheduleUpdate();
 	}
 
 	@Override
-	public void absoluteScale(double x, double y, double z) {
+	public synchronized void absoluteScale(double x, double y, double z) {
 		//if they are all the same, there is nothing to do
 		if (this.sX != x || this.sY != y || this.sZ != z) {
 			this.sX = x; this.sY = y; this.sZ = z;
-			double[][] scale = new double[4][4];
-			scale[0][0] = x;
-			scale[1][1] = y;
-			scale[2][2] = z;
-			scale[3][3] = 1;
-			this.scale = new Matrix(scale);
+			this.scale.setScale(x, y, z);
 			scheduleUpdate();
 		}
 	}
 
 	@Override
-	public void rotate(double pitch, double yaw, double roll) {
-		double[][] d = null;
+	public synchronized void rotate(double pitch, double yaw, double roll) {
+		boolean changed = false;
 
 		if (pitch != 0) {
 			this.pitch += pitch;
-			d = MatrixHelper.setupPitchRotation(pitch);
-			rotation = new Matrix(rotation.matrixMultiply(d));
+			Mat4.multiply(rotation, step.setPitch(pitch), rotation);
+			changed = true;
 		}
 
 		if (yaw != 0) {
 			this.yaw += yaw;
-			d = MatrixHelper.setupYawRotation(yaw);
-			rotation = new Matrix(rotation.matrixMultiply(d));
+			Mat4.multiply(rotation, step.setYaw(yaw), rotation);
+			changed = true;
 		}
 
 		if (roll != 0) {
 			this.roll += roll;
-			d = MatrixHelper.setupRollRotation(roll);
-			rotation = new Matrix(rotation.matrixMultiply(d));
+			Mat4.multiply(rotation, step.setRoll(roll), rotation);
+			changed = true;
 		}
 
-		if (d != null)
+		if (changed)
 		{
 			scheduleUpdate();
 		}
 	}
 
 	@Override
-	public void absoluteRotate(double pitch, double yaw, double roll) {
-		double[][] d = null;
-		Matrix m = null;
+	public synchronized void absoluteRotate(double pitch, double yaw, double roll) {
+		boolean changed = false;
 
 		if (pitch != this.pitch) {
 			this.pitch = pitch;
-			d = MatrixHelper.setupPitchRotation(pitch);
-			m = new Matrix(d);
+			absolute.setPitch(pitch);
+			changed = true;
 		}
 
 		if (yaw != this.yaw) {
 			this.yaw = yaw;
-			d = MatrixHelper.setupYawRotation(yaw);
-			if (m == null)
+			if (!changed)
 			{
-				m = new Matrix(d);
+				absolute.setYaw(yaw);
 			}
 			else {
-				m = new Matrix(m.matrixMultiply(d));
+				Mat4.multiply(absolute, step.setYaw(yaw), absolute);
 			}
+			changed = true;
 		}
 
 		if (roll != this.roll) {
 			this.roll = roll;
-			d = MatrixHelper.setupRollRotation(roll);
-			if (m == null)
+			if (!changed)
 			{
-				m = new Matrix(d);
+				absolute.setRoll(roll);
 			}
 			else {
-				m = new Matrix(m.matrixMultiply(d));
+				Mat4.multiply(absolute, step.setRoll(roll), absolute);
 			}
+			changed = true;
 		}
 		//check if any values were altered
-		if (d != null)
+		if (changed)
 		{
-			rotation = m;
+			rotation.set(absolute);
 			scheduleUpdate();
 		}
 	}
 
 	@Override
-	public void setAnchor(double[] d)
+	public synchronized void setAnchor(double[] d)
 	{
 		anchor = d;
 	}
 
 	protected abstract void createShape();
 
-	public double[] findCentre() {
+	public synchronized double[] findCentre() {
 		double[] centre = new double[]{0.5, 0.5, 0.5};
+		if (pose != null) {
+			//the latest published pose, so the simulation doesn't move the points while they are being drawn
+			return transform(pose, centre);
+		}
 		update();
-		return transform(centre);
+		return transform(combined, centre);
 	}
 
 
-	private double[] transform(int i)
+	//transforms already include moving the anchor to the origin
+	private double[] transform(Mat4 m, double[] point)
 	{
-		double[] point = relativePoints.get(i);
-		return transform(point);
-	}
-
-	private double[] transform(double[] point)
-	{
-		point = combined.pointMultiply(VectorCalc.sub(point, anchor));
+		point = m.transform(point[0], point[1], point[2], new double[4]);
 		point = new double[]{
 				point[0] / point[3],
 				point[1] / point[3],
@@ -263,22 +287,85 @@ public abstract class BaseShape implements IShape, IDrawable, IManipulable {
 	}
 
 	// gives back rotated relativePoints x, y, z :0, 1, 2
-	public void update() {
+	//does nothing unless the shape has changed since it was last updated
+	public synchronized void update() {
 		if (needsUpdate) {
 			needsUpdate = false;
 
-			//uses reverse order since we don't want the following to happen:
-			//-scale affecting translation
-			//-rotation affecting translation
-			combined = translation;
-			combined = new Matrix(combined.matrixMultiply(rotation));
-			combined = new Matrix(combined.matrixMultiply(scale));
+			if (pose == null) {
+				buildTransform(combined);
+			}
+			else if (interpolating) {
+				//somewhere between the last two poses the simulation published
+				Pose.interpolate(previousParts, poseParts, alpha, blendedParts).toMatrix(combined);
+			}
+			else {
+				combined.set(pose);
+			}
+			combined.transformPoints(relativePoints.getX(), relativePoints.getY(), relativePoints.getZ(),
+					vertices.getX(), vertices.getY(), vertices.getZ(), relativePoints.size());
+			bounds.update(vertices);
+			transformVersion++;
+		}
+	}
 
-			for (int i=0;i<relativePoints.size();i++)
-			{
-				points.get(i).setArray(transform(i));
+	//uses reverse order since we don't want the following to happen:
+	//-scale affecting translation
+	//-rotation affecting translation
+	//the anchor is moved to the origin first so everything happens around it
+	private void buildTransform(Mat4 out)
+	{
+		Mat4.multiply(translation, rotation, out);
+		Mat4.multiply(out, scale, out);
+		Mat4.multiply(out, step.setTranslate(-anchor[0], -anchor[1], -anchor[2]), out);
+	}
+
+	//called by the simulation after each step, from then on update draws from the published poses rather than the live transform
+	//so the simulation can carry on changing the shape while it is being drawn
+	public synchronized void publishPose()
+	{
+		if (pose == null) {
+			pose = new Mat4();
+			poseParts = new Pose();
+			previousParts = new Pose();
+			blendedParts = new Pose();
+			buildTransform(pose);
+			poseParts.set(x, y, z, rotation, scale, anchor);
+			previousParts.set(poseParts);
+		}
+		else {
+			boolean changed = changes != publishedChanges;
+			//at rest since the last step, the poses are already the same
+			if (!changed && !interpolating) return;
+			previousParts.set(poseParts);
+			if (changed) {
+				buildTransform(pose);
+				poseParts.set(x, y, z, rotation, scale, anchor);
 			}
+			interpolating = changed;
 		}
+		publishedChanges = changes;
+		markForUpdate();
+	}
+
+	//how far from the previous published pose to the latest one the next update should place the shape
+	public synchronized void setInterpolation(double alpha)
+	{
+		if (interpolating && alpha != this.alpha) {
+			this.alpha = alpha;
+			markForUpdate();
+		}
+	}
+
+	public int getTransformVersion()
+	{
+		return transformVersion;
+	}
+
+	//open or two sided shapes can be seen from behind so keep every polygon
+	public boolean isClosed()
+	{
+		return false;
 	}
 
 	public void split(double maxSize)
@@ -50,6 +50,11 @@ public class Cube extends BaseShape {
 	protected void createShape() {
 		createShape(new Color[] { c, c, c, c, c, c });
 	}
+	@Override
+	public boolean isClosed()
+	{
+		return true;
+	}
 	public static String getName()
 	{
 		return Cube.name;
@@ -2,11 +2,28 @@ package Shapes;
 
 import java.util.ArrayList;
 
+import GxEngine3D.Model.Bounds;
 import GxEngine3D.Model.Polygon3D;
 import GxEngine3D.Model.RefPoint3D;
+import GxEngine3D.Model.VertexBuffer;
 
 public interface IShape {
 	ArrayList<Polygon3D> getShape();
 	ArrayList<RefPoint3D> getPoints();
 	void update();
+	//changes every time update moves the points
+	int getTransformVersion();
+	//the transformed points
+	VertexBuffer getVertices();
+	//encloses the transformed points
+	Bounds getBounds();
+	//polygons of a closed shape are wound clockwise from outside, so those facing away can't be seen
+	boolean isClosed();
+	//listeners are told each time the shape goes from up to date to needing an update
+	void addListener(IShapeListener l);
+	void removeListener(IShapeListener l);
+	//keeps the current transform for drawing, called by the simulation after each step
+	void publishPose();
+	//how far between the last two published poses to draw the shape, from 0 to 1
+	void setInterpolation(double alpha);
 }
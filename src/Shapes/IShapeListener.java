@@ -0,0 +1,6 @@
+package Shapes;
+
+//told when a shape has been changed and will need updating before it is next drawn
+public interface IShapeListener {
+	void onScheduleUpdate(IShape s);
+}
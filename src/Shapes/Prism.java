@@ -42,6 +42,11 @@ public class Prism extends BaseShape {
 
 		addPoly(new RefPoint3D[]{points.get(1), points.get(2), points.get(5), points.get(4)}, c);//right face
 	}
+	@Override
+	public boolean isClosed()
+	{
+		return true;
+	}
 	public static String getName()
 	{
 		return Prism.name;
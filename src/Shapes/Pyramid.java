@@ -31,17 +31,22 @@ public class Pyramid extends BaseShape {
 		addEdge(new RefPoint3D[]{points.get(3), points.get(4)});//back right
 
 		//clockwise facing object
-		addPoly(new RefPoint3D[]{points.get(0), points.get(4), points.get(1)}, this.c);//front
-		addPoly(new RefPoint3D[]{points.get(3), points.get(4), points.get(2)}, this.c);//back
-		addPoly(new RefPoint3D[]{points.get(2), points.get(4), points.get(0)}, this.c);//left
-		addPoly(new RefPoint3D[]{points.get(1), points.get(4), points.get(3)}, this.c);//right
-		addPoly(new RefPoint3D[]{points.get(0), points.get(1), points.get(3), points.get(2)}, this.c);//base
+		addPoly(new RefPoint3D[]{points.get(1), points.get(4), points.get(0)}, this.c);//front
+		addPoly(new RefPoint3D[]{points.get(2), points.get(4), points.get(3)}, this.c);//back
+		addPoly(new RefPoint3D[]{points.get(0), points.get(4), points.get(2)}, this.c);//left
+		addPoly(new RefPoint3D[]{points.get(3), points.get(4), points.get(1)}, this.c);//right
+		addPoly(new RefPoint3D[]{points.get(2), points.get(3), points.get(1), points.get(0)}, this.c);//base
 	}
 	
 	@Override
 	public String toString() {
 		return getName();
 	}
+	@Override
+	public boolean isClosed()
+	{
+		return true;
+	}
 	public static String getName()
 	{
 		return Pyramid.name;
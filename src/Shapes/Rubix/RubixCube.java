@@ -63,7 +63,7 @@ public class RubixCube extends Cube implements KeyListener {
 		if (relativePoints.size() == 0) {
 			super.createShape(c);
 		}
-		ArrayList<RefPoint3D> block = (ArrayList<RefPoint3D>) relativePoints.clone();
+		ArrayList<RefPoint3D> block = (ArrayList<RefPoint3D>) points.clone();
 		relativePoints.clear();
 
 		return block;
@@ -305,6 +305,10 @@ public class RubixCube extends Cube implements KeyListener {
 		super.update();
 		// printCube();rotate
 		rotatePart();
+		//keep being updated until the turn has finished
+		if (animation) {
+			scheduleUpdate();
+		}
 	}
 
 	RefPoint3D lookAt;
@@ -368,6 +372,7 @@ public class RubixCube extends Cube implements KeyListener {
 			keys[0] = true;
 		if (e.getKeyCode() == KeyEvent.VK_K)
 			keys[1] = true;
+		scheduleUpdate();
 	}
 
 	@Override